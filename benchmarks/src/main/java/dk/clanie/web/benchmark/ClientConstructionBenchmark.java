@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+
+/**
+ * Cost of creating clients with {@link WebClientFactory#newWebClient(String, boolean)}
+ * and {@link RestClientFactory#newRestClient(String, boolean)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientConstructionBenchmark {
+
+	private static final String BASE_URL = "http://localhost:8080/api";
+
+	private final WebClientFactory webClientFactory = new WebClientFactory(WebClient.builder());
+	private final RestClientFactory restClientFactory = new RestClientFactory(RestClient.builder());
+
+
+	@Benchmark
+	public WebClient newWebClient() {
+		return webClientFactory.newWebClient(BASE_URL, false);
+	}
+
+
+	@Benchmark
+	public RestClient newRestClient() {
+		return restClientFactory.newRestClient(BASE_URL, false);
+	}
+
+
+}
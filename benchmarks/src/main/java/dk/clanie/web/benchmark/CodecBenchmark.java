@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.benchmark;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Serialization time of a typical service response in JSON and the binary
+ * formats from {@link dk.clanie.web.codec.BinaryFormat BinaryFormat}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+	public record OrderLine(String sku, int quantity, double price) {
+	}
+
+	public record Order(long id, String customer, Instant created, String status, List<OrderLine> lines) {
+	}
+
+	private static final TypeReference<List<Order>> ORDERS = new TypeReference<>() {};
+
+	@Param({"JSON", "CBOR", "SMILE"})
+	public String format;
+
+	private ObjectMapper mapper;
+	private List<Order> orders;
+	private byte[] encoded;
+
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		mapper = switch (format) {
+		case "CBOR" -> new CBORMapper();
+		case "SMILE" -> new SmileMapper();
+		default -> new JsonMapper();
+		};
+		orders = IntStream.range(0, 100)
+				.mapToObj(i -> new Order(i, "customer-" + i % 7, Instant.ofEpochSecond(1_700_000_000L + i), "SHIPPED",
+						IntStream.range(0, 5).mapToObj(j -> new OrderLine("SKU-" + (i * 5 + j), j + 1, 9.95 * (j + 1))).toList()))
+				.toList();
+		encoded = mapper.writeValueAsBytes(orders);
+	}
+
+
+	@Benchmark
+	public byte[] serialize() {
+		return mapper.writeValueAsBytes(orders);
+	}
+
+
+	@Benchmark
+	public List<Order> deserialize() {
+		return mapper.readValue(encoded, ORDERS);
+	}
+
+
+}
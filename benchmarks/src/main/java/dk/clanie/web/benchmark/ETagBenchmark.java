@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import dk.clanie.web.etag.StreamingETagFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * CPU overhead of {@link StreamingETagFilter} compared to no filter and to
+ * Spring's {@link ShallowEtagHeaderFilter}, for bodies below and above the
+ * default buffer threshold of 64 KB. The body is written in 8 KB chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ETagBenchmark {
+
+	private static final int BUFFER_THRESHOLD = 64 * 1024;
+	private static final int CHUNK_SIZE = 8 * 1024;
+
+	@Param({"1024", "32768", "262144"})
+	public int bodySize;
+
+	private byte[] body;
+	private FilterChain writeBody;
+	private StreamingETagFilter streamingETagFilter;
+	private ShallowEtagHeaderFilter shallowEtagHeaderFilter;
+
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		body = new byte[bodySize];
+		new Random(42).nextBytes(body);
+		writeBody = (_, response) -> {
+			for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+				response.getOutputStream().write(body, offset, Math.min(CHUNK_SIZE, body.length - offset));
+			}
+		};
+		streamingETagFilter = new StreamingETagFilter(BUFFER_THRESHOLD);
+		shallowEtagHeaderFilter = new ShallowEtagHeaderFilter();
+	}
+
+
+	@Benchmark
+	public MockHttpServletResponse noFilter() throws IOException, ServletException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		writeBody.doFilter(new MockHttpServletRequest("GET", "/things"), response);
+		return response;
+	}
+
+
+	@Benchmark
+	public MockHttpServletResponse streamingETagFilter() throws IOException, ServletException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		streamingETagFilter.doFilter(new MockHttpServletRequest("GET", "/things"), response, writeBody);
+		return response;
+	}
+
+
+	@Benchmark
+	public MockHttpServletResponse shallowEtagHeaderFilter() throws IOException, ServletException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		shallowEtagHeaderFilter.doFilter(new MockHttpServletRequest("GET", "/things"), response, writeBody);
+		return response;
+	}
+
+
+}
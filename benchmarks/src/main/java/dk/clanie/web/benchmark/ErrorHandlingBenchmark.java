@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.reactive.handler.WebFluxResponseStatusExceptionHandler;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import dk.clanie.web.GlobalExceptionHandler;
+import dk.clanie.web.ReactiveExceptionHandler;
+import dk.clanie.web.StatusCodeExceptions;
+
+/**
+ * Throughput of the error path: creating one of the exceptions in
+ * {@code dk.clanie.web.exception} and turning it into a response, with
+ * {@link GlobalExceptionHandler} and {@link ReactiveExceptionHandler}
+ * compared to resolving the {@code @ResponseStatus} annotation of the
+ * exception, as before they were added.
+ *
+ * The {@code @ResponseStatus} resolvers only set the status - on a servlet
+ * container the error page is rendered afterwards, which is not measured -
+ * while the handlers also write a ProblemDetail body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorHandlingBenchmark {
+
+	@Param({"404", "429", "500"})
+	public int status;
+
+	private HttpStatusCode statusCode;
+	private StaticWebApplicationContext context;
+	private ExceptionHandlerExceptionResolver exceptionHandlerResolver;
+	private ResponseStatusExceptionResolver responseStatusResolver;
+	private ReactiveExceptionHandler reactiveExceptionHandler;
+	private WebFluxResponseStatusExceptionHandler reactiveResponseStatusHandler;
+
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		statusCode = HttpStatusCode.valueOf(status);
+
+		context = new StaticWebApplicationContext();
+		context.registerSingleton("globalExceptionHandler", GlobalExceptionHandler.class);
+		context.refresh();
+		exceptionHandlerResolver = new ExceptionHandlerExceptionResolver();
+		exceptionHandlerResolver.setMessageConverters(List.of(new JacksonJsonHttpMessageConverter()));
+		exceptionHandlerResolver.setApplicationContext(context);
+		exceptionHandlerResolver.afterPropertiesSet();
+		responseStatusResolver = new ResponseStatusExceptionResolver();
+
+		reactiveExceptionHandler = new ReactiveExceptionHandler(ServerCodecConfigurer.create());
+		reactiveResponseStatusHandler = new WebFluxResponseStatusExceptionHandler();
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+
+	@Benchmark
+	public ModelAndView servletResponseStatus() {
+		return responseStatusResolver.resolveException(new MockHttpServletRequest("GET", "/things/42"),
+				new MockHttpServletResponse(), null, StatusCodeExceptions.toException(statusCode, null));
+	}
+
+
+	@Benchmark
+	public ModelAndView servletExceptionHandler() {
+		return exceptionHandlerResolver.resolveException(new MockHttpServletRequest("GET", "/things/42"),
+				new MockHttpServletResponse(), null, StatusCodeExceptions.toException(statusCode, null));
+	}
+
+
+	@Benchmark
+	public MockServerWebExchange reactiveResponseStatus() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/things/42"));
+		reactiveResponseStatusHandler.handle(exchange, StatusCodeExceptions.toException(statusCode, null)).block();
+		return exchange;
+	}
+
+
+	@Benchmark
+	public MockServerWebExchange reactiveExceptionHandler() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/things/42"));
+		reactiveExceptionHandler.handle(exchange, StatusCodeExceptions.toException(statusCode, null)).block();
+		return exchange;
+	}
+
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.exception.NotFoundException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * End-to-end calls with clients from {@link WebClientFactory} and {@link RestClientFactory}
+ * against an in-process Reactor Netty server.
+ *
+ * The server responds to /status/{code} with given status code and a short body.
+ * Calls to /status/404 measure the error path, including the exception mapping.
+ * With wiretap on the RestClient's logging interceptor is included; it logs to a
+ * no-op appender (see logback.xml) so only the cost of producing the log events is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoundTripBenchmark {
+
+	@Param({"200", "404"})
+	public int status;
+
+	@Param({"false", "true"})
+	public boolean wiretap;
+
+	private DisposableServer server;
+	private WebClient webClient;
+	private RestClient restClient;
+	private String uri;
+
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		server = HttpServer.create()
+				.port(0)
+				.route(routes -> routes.get("/status/{code}", (request, response) -> response
+						.status(Integer.parseInt(request.param("code")))
+						.sendString(Mono.just("hello"))))
+				.bindNow();
+		String baseUrl = "http://localhost:" + server.port();
+		webClient = new WebClientFactory(WebClient.builder()).newWebClient(baseUrl, wiretap);
+		restClient = new RestClientFactory(RestClient.builder()).newRestClient(baseUrl, wiretap);
+		uri = "/status/" + status;
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.disposeNow();
+	}
+
+
+	@Benchmark
+	public String webClient() {
+		return webClient.get().uri(uri)
+				.retrieve()
+				.bodyToMono(String.class)
+				.onErrorResume(NotFoundException.class, e -> Mono.just(e.getMessage()))
+				.block();
+	}
+
+
+	@Benchmark
+	public String restClient() {
+		try {
+			return restClient.get().uri(uri)
+					.retrieve()
+					.body(String.class);
+		} catch (NotFoundException e) {
+			return e.getMessage();
+		}
+	}
+
+
+}
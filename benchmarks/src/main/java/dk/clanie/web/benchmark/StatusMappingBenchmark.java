@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatusCode;
+
+import dk.clanie.web.StatusCodeExceptions;
+import dk.clanie.web.exception.ClientErrorStackTraces;
+
+/**
+ * Cost of mapping the status code of an unsuccessful response to an exception,
+ * with and without stack traces on client errors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusMappingBenchmark {
+
+	@Param({"302", "404", "429", "418", "500", "503"})
+	public int status;
+
+	@Param({"false", "true"})
+	public boolean suppressStackTraces;
+
+	private HttpStatusCode statusCode;
+
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		statusCode = HttpStatusCode.valueOf(status);
+		// Each trial runs in a fork of its own, in which no exception has been created yet
+		System.setProperty(ClientErrorStackTraces.PROPERTY, Boolean.toString(suppressStackTraces));
+	}
+
+
+	@Benchmark
+	public RuntimeException toException() {
+		return StatusCodeExceptions.toException(statusCode, "http://example.com/redirect");
+	}
+
+
+}
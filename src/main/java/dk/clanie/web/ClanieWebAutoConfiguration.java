@@ -17,18 +17,43 @@
  */
 package dk.clanie.web;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import dk.clanie.web.codec.BinaryCodecsWebFluxConfigurer;
+import dk.clanie.web.codec.BinaryCodecsWebMvcConfigurer;
+import dk.clanie.web.etag.ReactiveStreamingETagFilter;
+import dk.clanie.web.etag.StreamingETagFilter;
+import dk.clanie.web.limit.AimdLimit;
+import dk.clanie.web.limit.ConcurrencyLimiter;
+import dk.clanie.web.limit.InboundLimitFilter;
+import dk.clanie.web.limit.LaneResolver;
+import dk.clanie.web.limit.ReactiveInboundLimitFilter;
+import dk.clanie.web.timing.ReactiveServerTimingFilter;
+import dk.clanie.web.timing.ServerTimingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for clanie-web.
  */
 @AutoConfiguration
+@EnableConfigurationProperties(ClanieWebProperties.class)
+@ImportRuntimeHints(ClanieWebRuntimeHints.class)
 public class ClanieWebAutoConfiguration {
 
 
@@ -39,19 +64,153 @@ public class ClanieWebAutoConfiguration {
     }
 
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = Type.REACTIVE)
+    ReactiveExceptionHandler reactiveExceptionHandler(ServerCodecConfigurer serverCodecConfigurer) {
+        return new ReactiveExceptionHandler(serverCodecConfigurer);
+    }
+
+
     @Bean
     @Lazy
     @ConditionalOnMissingBean
-    WebClientFactory webClientFactory(WebClient.Builder webClientBuilder) {
-        return new WebClientFactory(webClientBuilder);
+    WebClientFactory webClientFactory(WebClient.Builder webClientBuilder, ObjectProvider<MeterRegistry> meterRegistry,
+            ClanieWebProperties properties) {
+        WebClientFactory webClientFactory = new WebClientFactory(webClientBuilder);
+        meterRegistry.ifAvailable(webClientFactory::setMeterRegistry);
+        webClientFactory.setServerTiming(properties.getServerTiming().isEnabled());
+        return webClientFactory;
     }
 
 
     @Bean
     @Lazy
     @ConditionalOnMissingBean
-    RestClientFactory restClientFactory(RestClient.Builder restClientBuilder) {
-        return new RestClientFactory(restClientBuilder);
+    RestClientFactory restClientFactory(RestClient.Builder restClientBuilder, ObjectProvider<MeterRegistry> meterRegistry,
+            ClanieWebProperties properties) {
+        RestClientFactory restClientFactory = new RestClientFactory(restClientBuilder);
+        meterRegistry.ifAvailable(restClientFactory::setMeterRegistry);
+        restClientFactory.setServerTiming(properties.getServerTiming().isEnabled());
+        return restClientFactory;
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    NamedClients namedClients(ClanieWebProperties properties, ObjectProvider<WebClientFactory> webClientFactory,
+            ObjectProvider<RestClientFactory> restClientFactory) {
+        return new NamedClients(properties.getClients(), webClientFactory::getObject, restClientFactory::getObject);
+    }
+
+
+    @Bean
+    @ConditionalOnMissingBean
+    ClientWarmUp clientWarmUp(ClanieWebProperties properties, NamedClients namedClients) {
+        return new ClientWarmUp(properties.getClients(), namedClients);
+    }
+
+
+    private static ConcurrencyLimiter inboundLimiter(ClanieWebProperties.InboundLimit properties) {
+        AimdLimit limit = new AimdLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                properties.getBackoffRatio(), properties.getLatencyTolerance());
+        return new ConcurrencyLimiter(limit, properties.getLowPriorityShare());
+    }
+
+
+    private static LaneResolver inboundLaneResolver(ClanieWebProperties.InboundLimit properties) {
+        return new LaneResolver(properties.getCriticalPaths(), properties.getLowPriorityPaths());
+    }
+
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    static class ServletConfiguration {
+
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "clanie.web.inbound-limit", name = "enabled", havingValue = "true")
+        InboundLimitFilter inboundLimitFilter(ClanieWebProperties properties) {
+            ClanieWebProperties.InboundLimit inboundLimit = properties.getInboundLimit();
+            return new InboundLimitFilter(inboundLimiter(inboundLimit), inboundLaneResolver(inboundLimit),
+                    inboundLimit.getRetryAfter());
+        }
+
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "clanie.web.etag", name = "enabled", havingValue = "true")
+        StreamingETagFilter streamingETagFilter(ClanieWebProperties properties) {
+            return new StreamingETagFilter((int) properties.getEtag().getBufferThreshold().toBytes());
+        }
+
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "clanie.web.server-timing", name = "enabled", havingValue = "true")
+        ServerTimingFilter serverTimingFilter() {
+            return new ServerTimingFilter();
+        }
+
+
+    }
+
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.web.servlet.config.annotation.WebMvcConfigurer")
+    static class WebMvcConfiguration {
+
+
+        @Bean
+        @ConditionalOnProperty(prefix = "clanie.web.binary-codecs", name = "enabled", havingValue = "true")
+        BinaryCodecsWebMvcConfigurer binaryCodecsWebMvcConfigurer() {
+            return new BinaryCodecsWebMvcConfigurer();
+        }
+
+
+    }
+
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = Type.REACTIVE)
+    static class ReactiveConfiguration {
+
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "clanie.web.inbound-limit", name = "enabled", havingValue = "true")
+        ReactiveInboundLimitFilter reactiveInboundLimitFilter(ClanieWebProperties properties) {
+            ClanieWebProperties.InboundLimit inboundLimit = properties.getInboundLimit();
+            return new ReactiveInboundLimitFilter(inboundLimiter(inboundLimit), inboundLaneResolver(inboundLimit),
+                    inboundLimit.getRetryAfter());
+        }
+
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "clanie.web.etag", name = "enabled", havingValue = "true")
+        ReactiveStreamingETagFilter reactiveStreamingETagFilter(ClanieWebProperties properties) {
+            return new ReactiveStreamingETagFilter((int) properties.getEtag().getBufferThreshold().toBytes());
+        }
+
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "clanie.web.server-timing", name = "enabled", havingValue = "true")
+        ReactiveServerTimingFilter reactiveServerTimingFilter() {
+            return new ReactiveServerTimingFilter();
+        }
+
+
+        @Bean
+        @ConditionalOnProperty(prefix = "clanie.web.binary-codecs", name = "enabled", havingValue = "true")
+        BinaryCodecsWebFluxConfigurer binaryCodecsWebFluxConfigurer(ObjectProvider<JsonMapper> jsonMapper) {
+            return new BinaryCodecsWebFluxConfigurer(jsonMapper.getIfAvailable(JsonMapper::shared));
+        }
+
+
     }
 
 
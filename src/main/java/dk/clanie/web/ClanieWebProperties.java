@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import dk.clanie.web.codec.BinaryFormat;
+import dk.clanie.web.etag.StreamingETagFilter;
+import dk.clanie.web.limit.AimdLimit;
+import dk.clanie.web.limit.ClientLimit;
+import dk.clanie.web.limit.Lane;
+import dk.clanie.web.redirect.RedirectPolicy;
+import dk.clanie.web.timing.OutboundTimings;
+import lombok.Data;
+
+/**
+ * Configuration properties for clanie-web.
+ */
+@Data
+@ConfigurationProperties("clanie.web")
+public class ClanieWebProperties {
+
+	private final InboundLimit inboundLimit = new InboundLimit();
+	private final Etag etag = new Etag();
+	private final ServerTiming serverTiming = new ServerTiming();
+	private final BinaryCodecs binaryCodecs = new BinaryCodecs();
+
+	/**
+	 * Named clients, built at startup.
+	 *
+	 * @see NamedClients
+	 */
+	private final Map<String, Client> clients = new LinkedHashMap<>();
+
+
+	/**
+	 * Adaptive concurrency limit for inbound requests.
+	 *
+	 * @see AimdLimit
+	 */
+	@Data
+	public static class InboundLimit {
+
+		/**
+		 * Shed inbound requests beyond the limit.
+		 */
+		private boolean enabled = false;
+
+		private int initialLimit = 20;
+		private int minLimit = 5;
+		private int maxLimit = 1000;
+		private double backoffRatio = 0.9;
+		private double latencyTolerance = 2.0;
+
+		/**
+		 * Share of the limit available to requests in the {@link Lane#LOW} lane.
+		 */
+		private double lowPriorityShare = 0.5;
+
+		/**
+		 * Value of the Retry-After header in 429 responses.
+		 */
+		private Duration retryAfter = Duration.ofSeconds(1);
+
+		/**
+		 * Path patterns of requests which are never shed.
+		 */
+		private List<String> criticalPaths = List.of("/actuator/health/**");
+
+		/**
+		 * Path patterns of requests which are shed first.
+		 */
+		private List<String> lowPriorityPaths = List.of();
+
+	}
+
+
+	/**
+	 * Content based ETags and conditional GET.
+	 *
+	 * @see StreamingETagFilter
+	 */
+	@Data
+	public static class Etag {
+
+		/**
+		 * Add ETags to responses and answer matching If-None-Match requests with 304.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Max. size of responses which get an ETag. Larger responses are streamed without.
+		 */
+		private DataSize bufferThreshold = DataSize.ofKilobytes(64);
+
+	}
+
+
+	/**
+	 * Server-Timing header with time spent in outbound calls.
+	 *
+	 * @see OutboundTimings
+	 */
+	@Data
+	public static class ServerTiming {
+
+		/**
+		 * Record outbound calls per inbound request and report them in a Server-Timing header.
+		 * Calls are recorded with all clients from the auto-configured client factories.
+		 */
+		private boolean enabled = false;
+
+	}
+
+
+	/**
+	 * Server side support for the compact binary formats.
+	 *
+	 * @see BinaryFormat
+	 */
+	@Data
+	public static class BinaryCodecs {
+
+		/**
+		 * Accept and produce the binary formats which have their library on the
+		 * classpath. JSON is still used unless a binary format is asked for.
+		 */
+		private boolean enabled = false;
+
+	}
+
+
+	/**
+	 * A client built at startup, optionally with warm-up.
+	 */
+	@Data
+	public static class Client {
+
+		public enum Type { WEB, REST }
+
+		private Type type = Type.WEB;
+
+		private @Nullable String baseUrl;
+
+		/**
+		 * Log all requests and responses.
+		 */
+		private boolean wiretap = false;
+
+		/**
+		 * @see ClientOptions#isServerTiming()
+		 */
+		private boolean serverTiming = false;
+
+		/**
+		 * @see ClientOptions#getMaxInMemorySize()
+		 */
+		private @Nullable DataSize maxInMemorySize;
+
+		/**
+		 * @see ClientOptions#getBinaryFormat()
+		 */
+		private @Nullable BinaryFormat binaryFormat;
+
+		private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+		private final Redirects redirects = new Redirects();
+		private final WarmUp warmUp = new WarmUp();
+
+
+		/**
+		 * Gets ClientOptions for a client with given name and these properties.
+		 */
+		public ClientOptions toOptions(String name) {
+			return ClientOptions.builder()
+					.name(name)
+					.wiretap(wiretap)
+					.serverTiming(serverTiming)
+					.maxInMemorySize(maxInMemorySize)
+					.binaryFormat(binaryFormat)
+					.concurrencyLimit(concurrencyLimit.isEnabled() ? concurrencyLimit.toClientLimit() : null)
+					.redirectPolicy(redirects.isEnabled() ? redirects.toRedirectPolicy() : null)
+					.build();
+		}
+
+	}
+
+
+	/**
+	 * Adaptive concurrency limit of a client.
+	 *
+	 * @see ClientLimit
+	 */
+	@Data
+	public static class ConcurrencyLimit {
+
+		private static final ClientLimit DEFAULTS = ClientLimit.builder().build();
+
+		/**
+		 * Limit the number of requests in flight, queueing requests beyond the limit.
+		 */
+		private boolean enabled = false;
+
+		private int initialLimit = DEFAULTS.getInitialLimit();
+		private int minLimit = DEFAULTS.getMinLimit();
+		private int maxLimit = DEFAULTS.getMaxLimit();
+		private double backoffRatio = DEFAULTS.getBackoffRatio();
+		private double latencyTolerance = DEFAULTS.getLatencyTolerance();
+
+		/**
+		 * @see ClientLimit#getMaxQueueSize()
+		 */
+		private int maxQueueSize = DEFAULTS.getMaxQueueSize();
+
+		/**
+		 * @see ClientLimit#getMaxQueueWait()
+		 */
+		private Duration maxQueueWait = DEFAULTS.getMaxQueueWait();
+
+		/**
+		 * @see ClientLimit#getHighPriorityReserve()
+		 */
+		private double highPriorityReserve = DEFAULTS.getHighPriorityReserve();
+
+		/**
+		 * @see ClientLimit#getPriorityAging()
+		 */
+		private Duration priorityAging = DEFAULTS.getPriorityAging();
+
+
+		/**
+		 * Gets a ClientLimit with these properties.
+		 */
+		public ClientLimit toClientLimit() {
+			return ClientLimit.builder()
+					.initialLimit(initialLimit)
+					.minLimit(minLimit)
+					.maxLimit(maxLimit)
+					.backoffRatio(backoffRatio)
+					.latencyTolerance(latencyTolerance)
+					.maxQueueSize(maxQueueSize)
+					.maxQueueWait(maxQueueWait)
+					.highPriorityReserve(highPriorityReserve)
+					.priorityAging(priorityAging)
+					.build();
+		}
+
+	}
+
+
+	/**
+	 * Following of redirects by a client.
+	 *
+	 * @see RedirectPolicy
+	 */
+	@Data
+	public static class Redirects {
+
+		private static final RedirectPolicy DEFAULTS = RedirectPolicy.defaults();
+
+		/**
+		 * Follow redirects. When false a 302 response becomes a FoundException.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * @see RedirectPolicy#getMaxRedirects()
+		 */
+		private int maxRedirects = DEFAULTS.getMaxRedirects();
+
+		/**
+		 * @see RedirectPolicy#isAllowCrossHost()
+		 */
+		private boolean allowCrossHost = DEFAULTS.isAllowCrossHost();
+
+		/**
+		 * @see RedirectPolicy#getAllowedHosts()
+		 */
+		private Set<String> allowedHosts = new LinkedHashSet<>();
+
+		/**
+		 * @see RedirectPolicy#getPermanentRedirectCacheSize()
+		 */
+		private int permanentRedirectCacheSize = DEFAULTS.getPermanentRedirectCacheSize();
+
+
+		/**
+		 * Gets a RedirectPolicy with these properties.
+		 */
+		public RedirectPolicy toRedirectPolicy() {
+			return RedirectPolicy.builder()
+					.maxRedirects(maxRedirects)
+					.allowCrossHost(allowCrossHost)
+					.allowedHosts(allowedHosts)
+					.permanentRedirectCacheSize(permanentRedirectCacheSize)
+					.build();
+		}
+
+	}
+
+
+	/**
+	 * Requests made by a client at startup, before the application reports
+	 * that it is ready, to open connections in its pool up front.
+	 *
+	 * @see ClientWarmUp
+	 */
+	@Data
+	public static class WarmUp {
+
+		/**
+		 * Number of connections opened. Zero disables warm-up.
+		 */
+		private int connections = 0;
+
+		/**
+		 * Path requested on each connection. Any response will do, also an
+		 * error response. Required when connections is above zero.
+		 */
+		private @Nullable String path;
+
+		/**
+		 * Max. time to spend on the warm-up. Startup proceeds when it is exceeded.
+		 */
+		private Duration timeout = Duration.ofSeconds(10);
+
+	}
+
+
+}
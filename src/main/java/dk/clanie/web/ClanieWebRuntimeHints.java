@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.support.BindingReflectionHintsRegistrar;
+
+import dk.clanie.web.exception.BadRequestException;
+import dk.clanie.web.exception.ConflictException;
+import dk.clanie.web.exception.ForbiddenException;
+import dk.clanie.web.exception.FoundException;
+import dk.clanie.web.exception.InternalServerErrorException;
+import dk.clanie.web.exception.NotFoundException;
+import dk.clanie.web.exception.TooManyRequestsException;
+import dk.clanie.web.exception.UnauthorizedException;
+import dk.clanie.web.exception.UnprocessableContentException;
+
+/**
+ * {@link RuntimeHintsRegistrar} for clanie-web, for running in a native image.
+ *
+ * Registers the exceptions, whose {@code @ResponseStatus} annotation is read
+ * reflectively when they are handled outside {@link GlobalExceptionHandler},
+ * and the configuration properties, including the nested Lombok types.
+ */
+class ClanieWebRuntimeHints implements RuntimeHintsRegistrar {
+
+	static final List<Class<? extends RuntimeException>> EXCEPTIONS = List.of(
+			FoundException.class,
+			BadRequestException.class,
+			UnauthorizedException.class,
+			ForbiddenException.class,
+			NotFoundException.class,
+			ConflictException.class,
+			UnprocessableContentException.class,
+			TooManyRequestsException.class,
+			InternalServerErrorException.class);
+
+
+	@Override
+	public void registerHints(RuntimeHints hints, @Nullable ClassLoader classLoader) {
+		EXCEPTIONS.forEach(type -> hints.reflection().registerType(type,
+				MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+		new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), ClanieWebProperties.class);
+	}
+
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import dk.clanie.web.codec.BinaryFormat;
+import dk.clanie.web.limit.ClientLimit;
+import dk.clanie.web.redirect.RedirectPolicy;
+import dk.clanie.web.timing.OutboundTimingHooks;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Options for clients from {@link WebClientFactory} and {@link RestClientFactory}.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ClientOptions {
+
+	private static final ClientOptions DEFAULTS = ClientOptions.builder().build();
+
+
+	/**
+	 * Name of the client in metrics and the Server-Timing header.
+	 * Defaults to the host of the base URL. Characters not allowed in a
+	 * Server-Timing metric name are replaced by underscores.
+	 */
+	@Nullable String name;
+
+	/**
+	 * Log all requests and responses.
+	 */
+	boolean wiretap;
+
+	/**
+	 * Limit on the number of bytes buffered when decoding a response body
+	 * with a WebClient - when a body is decoded as a stream of elements, the
+	 * limit applies to each element. Null means the codec default (256 KB).
+	 *
+	 * Not used by RestClients, which don't buffer response bodies.
+	 */
+	@Nullable DataSize maxInMemorySize;
+
+	/**
+	 * Record calls in the Server-Timing header of the inbound request being
+	 * served. Off by default, as the timing interceptor makes RestClients
+	 * buffer request bodies.
+	 *
+	 * @see WebClientFactory#setServerTiming(boolean)
+	 * @see RestClientFactory#setServerTiming(boolean)
+	 */
+	boolean serverTiming;
+
+	/**
+	 * Binary format to use instead of JSON. Request bodies are sent in this
+	 * format, and it is preferred over JSON in the Accept header.
+	 * The library needed for the format must be on the classpath.
+	 */
+	@Nullable BinaryFormat binaryFormat;
+
+	/**
+	 * Adaptive limit on the number of requests in flight. Null means no limit.
+	 */
+	@Nullable ClientLimit concurrencyLimit;
+
+	/**
+	 * Policy for following redirects. Null means redirects are not followed,
+	 * and a 302 response becomes a {@link dk.clanie.web.exception.FoundException FoundException}.
+	 */
+	@Nullable RedirectPolicy redirectPolicy;
+
+
+	/**
+	 * Gets the default options.
+	 */
+	public static ClientOptions defaults() {
+		return DEFAULTS;
+	}
+
+
+	/**
+	 * Gets the name of a client with these options and given base URL.
+	 */
+	public String nameFor(String baseUrl) {
+		return name != null ? OutboundTimingHooks.metricName(name) : OutboundTimingHooks.clientName(baseUrl);
+	}
+
+
+}
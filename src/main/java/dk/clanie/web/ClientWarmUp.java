@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import dk.clanie.web.ClanieWebProperties.Client;
+import dk.clanie.web.ClanieWebProperties.WarmUp;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Warms up the {@link NamedClients} with warm-up connections configured.
+ *
+ * Each client makes that many concurrent requests for its warm-up path,
+ * which resolves DNS, does the TLS handshakes and leaves the connections
+ * open in the client's own pool.
+ *
+ * Runs as an ApplicationRunner, so the application isn't reported ready
+ * (readiness state ACCEPTING_TRAFFIC) before the warm-up is done or has
+ * timed out. Errors are logged, but don't prevent startup.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ClientWarmUp implements ApplicationRunner {
+
+	private final Map<String, Client> clients;
+	private final NamedClients namedClients;
+
+
+	@Override
+	public void run(ApplicationArguments args) {
+		warmUp();
+	}
+
+
+	/**
+	 * Warms up all clients in parallel, and waits for it to complete.
+	 */
+	public void warmUp() {
+		Flux.fromIterable(clients.entrySet())
+		.filter(entry -> entry.getValue().getWarmUp().getConnections() > 0)
+		.flatMap(entry -> warmUp(entry.getKey(), entry.getValue()))
+		.blockLast();
+	}
+
+
+	private Mono<Void> warmUp(String name, Client client) {
+		WarmUp warmUp = client.getWarmUp();
+		int connections = warmUp.getConnections();
+		Mono<?> request = request(name, client.getType(), warmUp.getPath());
+		AtomicInteger failures = new AtomicInteger();
+		long start = System.nanoTime();
+		return Flux.range(0, connections)
+				.flatMap(_ -> request.onErrorResume(e -> {
+					// Any response means the connection is open - only I/O errors count
+					if (e instanceof WebClientRequestException || e instanceof ResourceAccessException || e instanceof IOException) {
+						failures.incrementAndGet();
+						log.debug("Warm-up request for client {} failed", name, e);
+					}
+					return Mono.empty();
+				}), connections)
+				.then()
+				.timeout(warmUp.getTimeout())
+				.doOnSuccess(_ -> logResult(name, connections, failures.get(), Duration.ofNanos(System.nanoTime() - start)))
+				.onErrorResume(e -> {
+					log.warn("Warm-up of client {} did not complete within {}", name, warmUp.getTimeout());
+					return Mono.empty();
+				});
+	}
+
+
+	private Mono<?> request(String name, Client.Type type, @Nullable String path) {
+		// Checked by NamedClients
+		if (path == null) throw new IllegalStateException("No warm-up path for client " + name);
+		return switch (type) {
+		case WEB -> {
+			WebClient webClient = namedClients.getWebClient(name);
+			yield Mono.defer(() -> webClient.get().uri(path).retrieve().toBodilessEntity());
+		}
+		case REST -> {
+			RestClient restClient = namedClients.getRestClient(name);
+			yield Mono.fromCallable(() -> restClient.get().uri(path).retrieve().toBodilessEntity())
+					.subscribeOn(Schedulers.boundedElastic());
+		}
+		};
+	}
+
+
+	private static void logResult(String name, int connections, int failures, Duration elapsed) {
+		if (failures == 0) {
+			log.info("Warmed up client {} with {} connections in {} ms", name, connections, elapsed.toMillis());
+		} else {
+			log.warn("Warm-up of client {}: {} of {} connections failed", name, failures, connections);
+		}
+	}
+
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.FOUND;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
+
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import dk.clanie.web.exception.BadRequestException;
+import dk.clanie.web.exception.ConflictException;
+import dk.clanie.web.exception.ForbiddenException;
+import dk.clanie.web.exception.FoundException;
+import dk.clanie.web.exception.InternalServerErrorException;
+import dk.clanie.web.exception.NotFoundException;
+import dk.clanie.web.exception.TooManyRequestsException;
+import dk.clanie.web.exception.UnauthorizedException;
+import dk.clanie.web.exception.UnprocessableContentException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the responses for the exceptions in {@code dk.clanie.web.exception}.
+ *
+ * Shared by {@link GlobalExceptionHandler} and {@link ReactiveExceptionHandler}.
+ * Resolving the status with a type switch avoids Spring's reflective
+ * {@code @ResponseStatus} lookup, and client errors are logged at debug
+ * level without stack trace.
+ */
+@Slf4j
+final class ErrorResponses {
+
+
+	private ErrorResponses() {
+	}
+
+
+	/**
+	 * Gets the HTTP status for given exception.
+	 *
+	 * @return the status, or null if {@code e} is not one of the exceptions in
+	 *         {@code dk.clanie.web.exception}.
+	 */
+	static @Nullable HttpStatus statusOf(Throwable e) {
+		return switch (e) {
+		case FoundException _ -> FOUND;
+		case BadRequestException _ -> BAD_REQUEST;
+		case UnauthorizedException _ -> UNAUTHORIZED;
+		case ForbiddenException _ -> FORBIDDEN;
+		case NotFoundException _ -> NOT_FOUND;
+		case ConflictException _ -> CONFLICT;
+		case UnprocessableContentException _ -> UNPROCESSABLE_CONTENT;
+		case TooManyRequestsException _ -> TOO_MANY_REQUESTS;
+		case InternalServerErrorException _ -> INTERNAL_SERVER_ERROR;
+		default -> null;
+		};
+	}
+
+
+	/**
+	 * Builds the response for given exception.
+	 *
+	 * @return the response, or null if {@code e} is not one of the exceptions in
+	 *         {@code dk.clanie.web.exception}.
+	 */
+	static @Nullable ResponseEntity<ProblemDetail> toResponseEntity(Throwable e) {
+		HttpStatus status = statusOf(e);
+		return status == null ? null : toResponseEntity(status, e);
+	}
+
+
+	/**
+	 * Builds a response with given status and an RFC 9457 {@link ProblemDetail} body.
+	 *
+	 * A {@link FoundException} gives a response with the Location header and no body,
+	 * and a {@link TooManyRequestsException} with a known retry delay gives
+	 * a response with the Retry-After header.
+	 * The exception message is used as detail for client errors only.
+	 */
+	static ResponseEntity<ProblemDetail> toResponseEntity(HttpStatus status, Throwable e) {
+		if (e instanceof FoundException found) {
+			return ResponseEntity.status(status)
+					.header(HttpHeaders.LOCATION, found.getLocation())
+					.build();
+		}
+
+		ProblemDetail problem = ProblemDetail.forStatus(status);
+		if (status.is4xxClientError()) {
+			log.debug("Responding {}: {}", status.value(), e.getMessage());
+			if (e.getMessage() != null) problem.setDetail(e.getMessage());
+		} else {
+			log.error("Responding {}", status.value(), e);
+		}
+
+		ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+		if (e instanceof TooManyRequestsException tooMany && tooMany.getRetryAfter() != null) {
+			builder.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(tooMany.getRetryAfter()));
+		}
+		return builder.body(problem);
+	}
+
+
+	/**
+	 * Formats given delay as a Retry-After value in whole seconds, rounded up.
+	 */
+	static String retryAfterSeconds(Duration retryAfter) {
+		long seconds = retryAfter.toSeconds();
+		if (retryAfter.toNanosPart() > 0) seconds++;
+		return String.valueOf(Math.max(seconds, 0));
+	}
+
+
+}
@@ -19,12 +19,29 @@ package dk.clanie.web;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import dk.clanie.web.exception.BadRequestException;
+import dk.clanie.web.exception.ConflictException;
+import dk.clanie.web.exception.ForbiddenException;
 import dk.clanie.web.exception.FoundException;
+import dk.clanie.web.exception.InternalServerErrorException;
+import dk.clanie.web.exception.NotFoundException;
+import dk.clanie.web.exception.TooManyRequestsException;
+import dk.clanie.web.exception.UnauthorizedException;
+import dk.clanie.web.exception.UnprocessableContentException;
 
+/**
+ * Handles the exceptions in {@code dk.clanie.web.exception}.
+ *
+ * Apart from {@link FoundException} (a redirect), the responses have an
+ * RFC 9457 {@link ProblemDetail} body.
+ *
+ * @see ReactiveExceptionHandler
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -47,4 +64,80 @@ public class GlobalExceptionHandler {
 	}
 
 
+	/**
+	 * Handles a {@link BadRequestException}; responds with HTTP 400 (BAD REQUEST).
+	 */
+	@ExceptionHandler(BadRequestException.class)
+	public ResponseEntity<ProblemDetail> handleBadRequestException(BadRequestException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.BAD_REQUEST, e);
+	}
+
+
+	/**
+	 * Handles an {@link UnauthorizedException}; responds with HTTP 401 (UNAUTHORIZED).
+	 */
+	@ExceptionHandler(UnauthorizedException.class)
+	public ResponseEntity<ProblemDetail> handleUnauthorizedException(UnauthorizedException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.UNAUTHORIZED, e);
+	}
+
+
+	/**
+	 * Handles a {@link ForbiddenException}; responds with HTTP 403 (FORBIDDEN).
+	 */
+	@ExceptionHandler(ForbiddenException.class)
+	public ResponseEntity<ProblemDetail> handleForbiddenException(ForbiddenException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.FORBIDDEN, e);
+	}
+
+
+	/**
+	 * Handles a {@link NotFoundException}; responds with HTTP 404 (NOT FOUND).
+	 */
+	@ExceptionHandler(NotFoundException.class)
+	public ResponseEntity<ProblemDetail> handleNotFoundException(NotFoundException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.NOT_FOUND, e);
+	}
+
+
+	/**
+	 * Handles a {@link ConflictException}; responds with HTTP 409 (CONFLICT).
+	 */
+	@ExceptionHandler(ConflictException.class)
+	public ResponseEntity<ProblemDetail> handleConflictException(ConflictException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.CONFLICT, e);
+	}
+
+
+	/**
+	 * Handles an {@link UnprocessableContentException}; responds with HTTP 422 (UNPROCESSABLE CONTENT).
+	 */
+	@ExceptionHandler(UnprocessableContentException.class)
+	public ResponseEntity<ProblemDetail> handleUnprocessableContentException(UnprocessableContentException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.UNPROCESSABLE_CONTENT, e);
+	}
+
+
+	/**
+	 * Handles a {@link TooManyRequestsException}; responds with HTTP 429 (TOO MANY REQUESTS).
+	 *
+	 * The Retry-After header is set if the exception has a retry delay.
+	 */
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<ProblemDetail> handleTooManyRequestsException(TooManyRequestsException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.TOO_MANY_REQUESTS, e);
+	}
+
+
+	/**
+	 * Handles an {@link InternalServerErrorException}; responds with HTTP 500 (INTERNAL SERVER ERROR).
+	 *
+	 * The exception message is not included in the response.
+	 */
+	@ExceptionHandler(InternalServerErrorException.class)
+	public ResponseEntity<ProblemDetail> handleInternalServerErrorException(InternalServerErrorException e) {
+		return ErrorResponses.toResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR, e);
+	}
+
+
 }
\ No newline at end of file
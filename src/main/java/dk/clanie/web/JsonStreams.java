@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Incremental decoding of responses with many elements, either as
+ * newline delimited JSON (application/x-ndjson) or as a top-level JSON array.
+ *
+ * Elements are decoded one at a time as the response is read, so memory
+ * use is bounded by the size of one element rather than the whole response.
+ * Both media types are accepted; the server decides which one to send.
+ */
+public final class JsonStreams {
+
+
+	private JsonStreams() {
+	}
+
+
+	/**
+	 * Gets the elements of the response to given request as a Flux.
+	 *
+	 * The response is read as the Flux is consumed, with backpressure. Each
+	 * element must fit within the {@link ClientOptions#getMaxInMemorySize() maxInMemorySize}
+	 * of the WebClient, but the response as a whole may be any size.
+	 *
+	 * <pre>
+	 * Flux&lt;Order&gt; orders = JsonStreams.flux(webClient.get().uri("/orders"), Order.class);
+	 * </pre>
+	 *
+	 * @param request request from a WebClient from {@link WebClientFactory}.
+	 * @param elementType type of the elements - decoded from JSON, so must not be String.
+	 */
+	public static <T> Flux<T> flux(WebClient.RequestHeadersSpec<?> request, Class<T> elementType) {
+		return request.accept(APPLICATION_NDJSON, APPLICATION_JSON)
+				.retrieve()
+				.bodyToFlux(elementType);
+	}
+
+
+	/**
+	 * Gets the elements of the response to given request as a Stream, decoded
+	 * with a default {@link JsonMapper}.
+	 *
+	 * @see #stream(RestClient.RequestHeadersSpec, Class, ObjectMapper)
+	 */
+	public static <T> Stream<T> stream(RestClient.RequestHeadersSpec<?> request, Class<T> elementType) {
+		return stream(request, elementType, JsonMapper.shared());
+	}
+
+
+	/**
+	 * Gets the elements of the response to given request as a Stream.
+	 *
+	 * The request is made right away, but the body is read as the Stream is
+	 * consumed. The Stream holds on to the connection, so it must be closed:
+	 *
+	 * <pre>
+	 * try (Stream&lt;Order&gt; orders = JsonStreams.stream(restClient.get().uri("/orders"), Order.class, objectMapper)) {
+	 *     orders.forEach(this::process);
+	 * }
+	 * </pre>
+	 *
+	 * Unsuccessful responses are mapped to exceptions like with any other
+	 * call made with a RestClient from {@link RestClientFactory}.
+	 *
+	 * @param request request from a RestClient.
+	 * @param elementType type of the elements.
+	 * @param objectMapper used to decode the elements.
+	 */
+	public static <T> Stream<T> stream(RestClient.RequestHeadersSpec<?> request, Class<T> elementType, ObjectMapper objectMapper) {
+		return request.accept(APPLICATION_NDJSON, APPLICATION_JSON)
+				.exchange((_, response) -> {
+					try {
+						HttpStatusCode statusCode = response.getStatusCode();
+						if (!statusCode.is2xxSuccessful()) {
+							throw StatusCodeExceptions.toException(statusCode, response.getHeaders().getFirst(HttpHeaders.LOCATION));
+						}
+						// Iterates over the elements of a top-level array as well as over root-level values
+						MappingIterator<T> elements = objectMapper.readerFor(elementType).readValues(response.getBody());
+						return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED | Spliterator.NONNULL), false)
+								.onClose(response::close);
+					} catch (IOException | RuntimeException e) {
+						closeQuietly(response, e);
+						throw e;
+					}
+				}, false);
+	}
+
+
+	private static void closeQuietly(ClientHttpResponse response, Exception cause) {
+		try {
+			response.close();
+		} catch (RuntimeException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.ClanieWebProperties.Client;
+
+/**
+ * The clients configured under {@code clanie.web.clients}, built at startup.
+ *
+ * <pre>
+ * clanie.web.clients.orders.base-url=https://orders.example.com
+ * clanie.web.clients.orders.warm-up.connections=4
+ * clanie.web.clients.orders.warm-up.path=/actuator/health
+ * clanie.web.clients.billing.type=rest
+ * clanie.web.clients.billing.base-url=https://billing.example.com
+ * </pre>
+ *
+ * @see ClientWarmUp
+ */
+public class NamedClients {
+
+	private final Map<String, WebClient> webClients = new LinkedHashMap<>();
+	private final Map<String, RestClient> restClients = new LinkedHashMap<>();
+
+
+	/**
+	 * Builds the clients.
+	 *
+	 * @param clients client properties by name.
+	 * @param webClientFactory used for clients of type WEB - only called if there are any.
+	 * @param restClientFactory used for clients of type REST - only called if there are any.
+	 * @throws IllegalArgumentException if a client has no base-url, or warm-up
+	 *         connections without a warm-up path.
+	 */
+	public NamedClients(Map<String, Client> clients, Supplier<WebClientFactory> webClientFactory,
+			Supplier<RestClientFactory> restClientFactory) {
+		clients.forEach((name, client) -> {
+			String baseUrl = client.getBaseUrl();
+			if (baseUrl == null) throw new IllegalArgumentException("No base-url for client " + name);
+			if (client.getWarmUp().getConnections() > 0 && client.getWarmUp().getPath() == null) {
+				throw new IllegalArgumentException("No warm-up.path for client " + name + " with warm-up connections");
+			}
+			switch (client.getType()) {
+			case WEB -> webClients.put(name, webClientFactory.get().newWebClient(baseUrl, client.toOptions(name)));
+			case REST -> restClients.put(name, restClientFactory.get().newRestClient(baseUrl, client.toOptions(name)));
+			}
+		});
+	}
+
+
+	/**
+	 * Gets the WebClient with given name.
+	 *
+	 * @throws IllegalArgumentException if there is no WebClient with given name.
+	 */
+	public WebClient getWebClient(String name) {
+		WebClient client = webClients.get(name);
+		if (client == null) throw new IllegalArgumentException("No WebClient named " + name);
+		return client;
+	}
+
+
+	/**
+	 * Gets the RestClient with given name.
+	 *
+	 * @throws IllegalArgumentException if there is no RestClient with given name.
+	 */
+	public RestClient getRestClient(String name) {
+		RestClient client = restClients.get(name);
+		if (client == null) throw new IllegalArgumentException("No RestClient named " + name);
+		return client;
+	}
+
+
+	/**
+	 * Gets the names of the WebClients.
+	 */
+	public Set<String> getWebClientNames() {
+		return Collections.unmodifiableSet(webClients.keySet());
+	}
+
+
+	/**
+	 * Gets the names of the RestClients.
+	 */
+	public Set<String> getRestClientNames() {
+		return Collections.unmodifiableSet(restClients.keySet());
+	}
+
+
+}
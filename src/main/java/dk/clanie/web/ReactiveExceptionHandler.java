@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux equivalent of {@link GlobalExceptionHandler}.
+ *
+ * Handles the exceptions in {@code dk.clanie.web.exception} wherever they are
+ * thrown, including functional endpoints and filters, and gives the same
+ * responses as {@link GlobalExceptionHandler}. Other exceptions are passed on
+ * to the next handler.
+ *
+ * Ordered before Spring Boot's default error handler.
+ */
+@RequiredArgsConstructor
+public class ReactiveExceptionHandler implements WebExceptionHandler, Ordered {
+
+	public static final int ORDER = -2;
+
+	private final ServerCodecConfigurer codecConfigurer;
+
+	private final ServerResponse.Context responseContext = new ServerResponse.Context() {
+		@Override
+		public List<HttpMessageWriter<?>> messageWriters() {
+			return codecConfigurer.getWriters();
+		}
+		@Override
+		public List<ViewResolver> viewResolvers() {
+			return List.of();
+		}
+	};
+
+
+	@Override
+	public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+		ResponseEntity<ProblemDetail> entity = ErrorResponses.toResponseEntity(ex);
+		if (entity == null || exchange.getResponse().isCommitted()) return Mono.error(ex);
+
+		ServerResponse.BodyBuilder builder = ServerResponse.status(entity.getStatusCode())
+				.headers(headers -> headers.addAll(entity.getHeaders()));
+		ProblemDetail problem = entity.getBody();
+		Mono<ServerResponse> response;
+		if (problem == null) {
+			response = builder.build();
+		} else {
+			if (problem.getInstance() == null) {
+				problem.setInstance(URI.create(exchange.getRequest().getPath().value()));
+			}
+			response = builder
+					.contentType(MediaType.APPLICATION_PROBLEM_JSON)
+					.bodyValue(problem);
+		}
+		return response.flatMap(r -> r.writeTo(exchange, responseContext));
+	}
+
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+
+}
@@ -18,39 +18,32 @@
 package dk.clanie.web;
 
 import static dk.clanie.core.Utils.opt;
-import static org.springframework.http.HttpStatus.BAD_REQUEST;
-import static org.springframework.http.HttpStatus.CONFLICT;
-import static org.springframework.http.HttpStatus.FORBIDDEN;
-import static org.springframework.http.HttpStatus.FOUND;
-import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
-import static org.springframework.http.HttpStatus.NOT_FOUND;
-import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
-import static org.springframework.http.HttpStatus.UNAUTHORIZED;
-import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.jspecify.annotations.Nullable;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
-import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.client.RestClient;
 
-import ch.qos.logback.classic.Level;
-import ch.qos.logback.classic.LoggerContext;
-import dk.clanie.web.exception.BadRequestException;
-import dk.clanie.web.exception.ConflictException;
-import dk.clanie.web.exception.ForbiddenException;
-import dk.clanie.web.exception.FoundException;
-import dk.clanie.web.exception.InternalServerErrorException;
-import dk.clanie.web.exception.NotFoundException;
-import dk.clanie.web.exception.TooManyRequestsException;
-import dk.clanie.web.exception.UnauthorizedException;
-import dk.clanie.web.exception.UnprocessableContentException;
+import dk.clanie.web.codec.BinaryCodecs;
+import dk.clanie.web.codec.BinaryFormat;
+import dk.clanie.web.limit.ClientLimit;
+import dk.clanie.web.limit.ClientLimitHooks;
+import dk.clanie.web.limit.ClientLimiter;
+import dk.clanie.web.redirect.PermanentRedirectCache;
+import dk.clanie.web.redirect.RedirectHooks;
+import dk.clanie.web.redirect.RedirectPolicy;
+import dk.clanie.web.timing.OutboundTimingHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -59,6 +52,20 @@ public class RestClientFactory {
 
 	private final RestClient.Builder restClientBuilder;
 
+	/**
+	 * Registry for metrics of the clients. Defaults to the global registry.
+	 */
+	@Setter
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+	/**
+	 * Record calls in the Server-Timing header with all clients, regardless
+	 * of {@link ClientOptions#isServerTiming()}. Set by the auto-configuration
+	 * when {@code clanie.web.server-timing.enabled} is true.
+	 */
+	@Setter
+	private boolean serverTiming;
+
 	/**
 	 * Gets a RestClient with given baseUrl and the filters required
 	 * for making calls between services.
@@ -80,9 +87,37 @@ public class RestClientFactory {
 	 * @param wiretap log all requests and responses.
 	 */
 	public RestClient newRestClient(String baseUrl, @Nullable Consumer<RestClient.Builder> builderConsumer, boolean wiretap) {
+		return newRestClient(baseUrl, ClientOptions.builder().wiretap(wiretap).build(), builderConsumer);
+	}
+
+
+	/**
+	 * Gets a RestClient with given baseUrl and options, and the filters required
+	 * for making calls between services.
+	 * 
+	 * @param baseUrl
+	 * @param options
+	 */
+	public RestClient newRestClient(String baseUrl, ClientOptions options) {
+		return newRestClient(baseUrl, options, null);
+	}
+
+
+	/**
+	 * Gets a RestClient with given baseUrl and options, and the filters required
+	 * for making calls between services.
+	 *
+	 * Interceptors added by the builderConsumer run before the interceptors
+	 * following redirects, limiting concurrency, timing and logging calls.
+	 * 
+	 * @param baseUrl
+	 * @param options
+	 * @param builderConsumer can be provided to further customize the RestClient.
+	 */
+	public RestClient newRestClient(String baseUrl, ClientOptions options, @Nullable Consumer<RestClient.Builder> builderConsumer) {
+		boolean wiretap = options.isWiretap();
 		if (wiretap) {
-			LoggerContext loggerContext = (LoggerContext)LoggerFactory.getILoggerFactory();
-			loggerContext.getLogger(RestClientFactory.class).setLevel(Level.TRACE);
+			WiretapLogging.enable(RestClientFactory.class.getName());
 		}
 
 		RestClient.Builder builder = restClientBuilder.clone()
@@ -90,32 +125,43 @@ public class RestClientFactory {
 				.defaultStatusHandler(
 						statusCode -> !statusCode.is2xxSuccessful(),
 						(_, response) -> {
-							HttpStatusCode statusCode = response.getStatusCode();
-							RuntimeException ex = null;
-							if (FOUND.equals(statusCode)) {
-								String location = response.getHeaders().getFirst(HttpHeaders.LOCATION);
-								ex = new FoundException(location != null ? location : "");
-							}
-							else if (BAD_REQUEST.equals(statusCode)) ex = new BadRequestException("Bad Request");
-							else if (UNAUTHORIZED.equals(statusCode)) ex = new UnauthorizedException("Unauthorized");
-							else if (FORBIDDEN.equals(statusCode)) ex = new ForbiddenException("Forbidden");
-							else if (NOT_FOUND.equals(statusCode)) ex = new NotFoundException("Not Found");
-							else if (CONFLICT.equals(statusCode)) ex = new ConflictException("Conflict");
-							else if (UNPROCESSABLE_CONTENT.equals(statusCode)) ex = new UnprocessableContentException("Unprocessable Content");
-							else if (TOO_MANY_REQUESTS.equals(statusCode)) ex = new TooManyRequestsException("Too Many Requests");
-							else if (statusCode.is4xxClientError()) ex = new BadRequestException("Client Error " + statusCode.value() + ": " + statusCode);
-							else if (INTERNAL_SERVER_ERROR.equals(statusCode)) ex = new InternalServerErrorException("Internal Server Error");
-							else ex = new InternalServerErrorException("Server Error " + statusCode.value() + ": " + statusCode);
-							throw ex;
+							throw StatusCodeExceptions.toException(response.getStatusCode(),
+									response.getHeaders().getFirst(HttpHeaders.LOCATION));
 						});
 
+		BinaryFormat binaryFormat = options.getBinaryFormat();
+		if (binaryFormat != null) {
+			HttpMessageConverter<?> converter = BinaryCodecs.converter(binaryFormat);
+			builder.messageConverters(converters -> converters.add(0, converter))
+			.defaultHeaders(headers -> headers.setAccept(List.of(binaryFormat.getMediaType(), MediaType.APPLICATION_JSON)));
+		}
+
+		builder.apply(opt(builderConsumer).orElse(_ -> {}));
+
+		// After the interceptors added by the builderConsumer, which thereby see the
+		// original request once, and not each hop - like the filters of a WebClient
+		RedirectPolicy redirectPolicy = options.getRedirectPolicy();
+		if (redirectPolicy != null) {
+			builder.requestInterceptor(RedirectHooks.requestInterceptor(redirectPolicy, new PermanentRedirectCache(redirectPolicy.getPermanentRedirectCacheSize())));
+		}
+
+		// After the redirect interceptor, so each hop is limited, timed and logged
+		String name = options.nameFor(baseUrl);
+		ClientLimit concurrencyLimit = options.getConcurrencyLimit();
+		if (concurrencyLimit != null) {
+			ClientLimiter limiter = concurrencyLimit.newLimiter();
+			limiter.bindTo(meterRegistry, name);
+			builder.requestInterceptor(ClientLimitHooks.requestInterceptor(limiter));
+		}
+		// Only when asked for, as any interceptor makes the RestClient buffer request bodies
+		if (serverTiming || options.isServerTiming()) {
+			builder.requestInterceptor(OutboundTimingHooks.requestInterceptor(name));
+		}
 		if (wiretap) {
 			builder.requestInterceptor(loggingInterceptor());
 		}
 
-		return builder
-				.apply(opt(builderConsumer).orElse(_ -> {}))
-				.build();
+		return builder.build();
 	}
 
 
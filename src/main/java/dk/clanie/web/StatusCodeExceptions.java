@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+import static org.springframework.http.HttpStatus.FOUND;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatusCode;
+
+import dk.clanie.web.exception.BadRequestException;
+import dk.clanie.web.exception.ConflictException;
+import dk.clanie.web.exception.ForbiddenException;
+import dk.clanie.web.exception.FoundException;
+import dk.clanie.web.exception.InternalServerErrorException;
+import dk.clanie.web.exception.NotFoundException;
+import dk.clanie.web.exception.TooManyRequestsException;
+import dk.clanie.web.exception.UnauthorizedException;
+import dk.clanie.web.exception.UnprocessableContentException;
+
+/**
+ * Maps the status code of an unsuccessful response to one of the exceptions
+ * in {@code dk.clanie.web.exception}.
+ *
+ * Used by the clients from {@link WebClientFactory} and {@link RestClientFactory}.
+ */
+public final class StatusCodeExceptions {
+
+
+	private StatusCodeExceptions() {
+	}
+
+
+	/**
+	 * Gets the exception for given (non-2xx) status code.
+	 *
+	 * @param statusCode status code of the response.
+	 * @param location value of the Location header of the response, if any.
+	 */
+	public static RuntimeException toException(HttpStatusCode statusCode, @Nullable String location) {
+		if (FOUND.equals(statusCode)) return new FoundException(location != null ? location : "");
+		if (BAD_REQUEST.equals(statusCode)) return new BadRequestException("Bad Request");
+		if (UNAUTHORIZED.equals(statusCode)) return new UnauthorizedException("Unauthorized");
+		if (FORBIDDEN.equals(statusCode)) return new ForbiddenException("Forbidden");
+		if (NOT_FOUND.equals(statusCode)) return new NotFoundException("Not Found");
+		if (CONFLICT.equals(statusCode)) return new ConflictException("Conflict");
+		if (UNPROCESSABLE_CONTENT.equals(statusCode)) return new UnprocessableContentException("Unprocessable Content");
+		if (TOO_MANY_REQUESTS.equals(statusCode)) return new TooManyRequestsException("Too Many Requests");
+		if (statusCode.is4xxClientError()) return new BadRequestException("Client Error " + statusCode.value() + ": " + statusCode);
+		if (INTERNAL_SERVER_ERROR.equals(statusCode)) return new InternalServerErrorException("Internal Server Error");
+		return new InternalServerErrorException("Server Error " + statusCode.value() + ": " + statusCode);
+	}
+
+
+}
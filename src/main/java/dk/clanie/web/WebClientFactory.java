@@ -18,38 +18,32 @@
 package dk.clanie.web;
 
 import static dk.clanie.core.Utils.opt;
-import static org.springframework.http.HttpStatus.BAD_REQUEST;
-import static org.springframework.http.HttpStatus.CONFLICT;
-import static org.springframework.http.HttpStatus.FORBIDDEN;
-import static org.springframework.http.HttpStatus.FOUND;
-import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
-import static org.springframework.http.HttpStatus.NOT_FOUND;
-import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
-import static org.springframework.http.HttpStatus.UNAUTHORIZED;
-import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 import org.jspecify.annotations.Nullable;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
-import ch.qos.logback.classic.Level;
-import ch.qos.logback.classic.LoggerContext;
-import dk.clanie.web.exception.BadRequestException;
-import dk.clanie.web.exception.ConflictException;
-import dk.clanie.web.exception.ForbiddenException;
-import dk.clanie.web.exception.FoundException;
-import dk.clanie.web.exception.InternalServerErrorException;
-import dk.clanie.web.exception.NotFoundException;
-import dk.clanie.web.exception.TooManyRequestsException;
-import dk.clanie.web.exception.UnauthorizedException;
-import dk.clanie.web.exception.UnprocessableContentException;
+import dk.clanie.web.codec.BinaryCodecs;
+import dk.clanie.web.codec.BinaryFormat;
+import dk.clanie.web.limit.ClientLimit;
+import dk.clanie.web.limit.ClientLimitHooks;
+import dk.clanie.web.limit.ClientLimiter;
+import dk.clanie.web.redirect.PermanentRedirectCache;
+import dk.clanie.web.redirect.RedirectHooks;
+import dk.clanie.web.redirect.RedirectPolicy;
+import dk.clanie.web.timing.OutboundTimingHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
 
@@ -60,6 +54,20 @@ public class WebClientFactory {
 
 	private final WebClient.Builder webClientBuilder;
 
+	/**
+	 * Registry for metrics of the clients. Defaults to the global registry.
+	 */
+	@Setter
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+	/**
+	 * Record calls in the Server-Timing header with all clients, regardless
+	 * of {@link ClientOptions#isServerTiming()}. Set by the auto-configuration
+	 * when {@code clanie.web.server-timing.enabled} is true.
+	 */
+	@Setter
+	private boolean serverTiming;
+
 	/**
 	 * Gets a WebClient with given baseUrl and the filters required
 	 * for making calls between services.
@@ -81,19 +89,85 @@ public class WebClientFactory {
 	 * @param wiretap log all requests and responses.
 	 */
 	public WebClient newWebClient(String baseUrl, @Nullable Consumer<WebClient.Builder> builderConsumer, boolean wiretap) {
+		return newWebClient(baseUrl, ClientOptions.builder().wiretap(wiretap).build(), builderConsumer);
+	}
+
+
+	/**
+	 * Gets a WebClient with given baseUrl and options, and the filters required
+	 * for making calls between services.
+	 * 
+	 * @param baseUrl
+	 * @param options
+	 */
+	public WebClient newWebClient(String baseUrl, ClientOptions options) {
+		return newWebClient(baseUrl, options, null);
+	}
+
+
+	/**
+	 * Gets a WebClient with given baseUrl and options, and the filters required
+	 * for making calls between services.
+	 *
+	 * Filters added by the builderConsumer run inside the filter mapping
+	 * unsuccessful responses to exceptions, and outside the filters following
+	 * redirects, limiting concurrency and timing calls.
+	 * 
+	 * @param baseUrl
+	 * @param options
+	 * @param builderConsumer can be provided to further customize the WebClient.
+	 */
+	public WebClient newWebClient(String baseUrl, ClientOptions options, @Nullable Consumer<WebClient.Builder> builderConsumer) {
+		boolean wiretap = options.isWiretap();
 		if (wiretap) {
-			LoggerContext loggerContext = (LoggerContext)LoggerFactory.getILoggerFactory();
-			loggerContext.getLogger(WIRETAP_LOGGER_NAME).setLevel(Level.TRACE);
+			WiretapLogging.enable(WIRETAP_LOGGER_NAME);
 		}
+		boolean timed = serverTiming || options.isServerTiming();
 		HttpClient httpClient = HttpClient.create()
 				.followRedirect(false)
 				.wiretap(wiretap);
-		return webClientBuilder.clone()
+		if (timed) {
+			httpClient = OutboundTimingHooks.install(httpClient);
+		}
+		String name = options.nameFor(baseUrl);
+		WebClient.Builder builder = webClientBuilder.clone()
 				.clientConnector(new ReactorClientHttpConnector(httpClient))
 				.baseUrl(baseUrl)
-				.filter(responseCodeToExceptionMappingFilter())
-				.apply(opt(builderConsumer).orElse(_ -> {}))
-				.build();
+				.filter(responseCodeToExceptionMappingFilter());
+
+		DataSize maxInMemorySize = options.getMaxInMemorySize();
+		if (maxInMemorySize != null) {
+			builder.codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()));
+		}
+		BinaryFormat binaryFormat = options.getBinaryFormat();
+		if (binaryFormat != null) {
+			builder.codecs(codecs -> BinaryCodecs.register(codecs, binaryFormat))
+			.defaultHeaders(headers -> headers.setAccept(List.of(binaryFormat.getMediaType(), MediaType.APPLICATION_JSON)));
+		}
+
+		builder.apply(opt(builderConsumer).orElse(_ -> {}));
+
+		// After the filters added by the builderConsumer, which thereby see the
+		// original request once, and not each hop - so eg. an Authorization
+		// header they add is removed by the redirect filter on a cross-host redirect
+		RedirectPolicy redirectPolicy = options.getRedirectPolicy();
+		if (redirectPolicy != null) {
+			builder.filter(RedirectHooks.exchangeFilter(redirectPolicy, new PermanentRedirectCache(redirectPolicy.getPermanentRedirectCacheSize())));
+		}
+
+		// Inside the redirect filter, so each hop is limited and timed
+		ClientLimit concurrencyLimit = options.getConcurrencyLimit();
+		if (concurrencyLimit != null) {
+			ClientLimiter limiter = concurrencyLimit.newLimiter();
+			limiter.bindTo(meterRegistry, name);
+			builder.filter(ClientLimitHooks.exchangeFilter(limiter));
+		}
+
+		if (timed) {
+			builder.filter(OutboundTimingHooks.exchangeFilter(name));
+		}
+
+		return builder.build();
 	}
 
 
@@ -102,19 +176,7 @@ public class WebClientFactory {
 				cr -> {
 					HttpStatusCode statusCode = cr.statusCode();
 					if (statusCode.is2xxSuccessful()) return Mono.just(cr);
-					RuntimeException ex = null;
-					if (FOUND.equals(statusCode)) ex = new FoundException(cr.headers().header(HttpHeaders.LOCATION).get(0));
-					else if (BAD_REQUEST.equals(statusCode)) ex = new BadRequestException("Bad Request");
-					else if (UNAUTHORIZED.equals(statusCode)) ex = new UnauthorizedException("Unauthorized");
-					else if (FORBIDDEN.equals(statusCode)) ex = new ForbiddenException("Forbidden");
-					else if (NOT_FOUND.equals(statusCode)) ex = new NotFoundException("Not Found");
-					else if (CONFLICT.equals(statusCode)) ex = new ConflictException("Conflict");
-					else if (UNPROCESSABLE_CONTENT.equals(statusCode)) ex = new UnprocessableContentException("Unprocessable Content");
-					else if (TOO_MANY_REQUESTS.equals(statusCode)) ex = new TooManyRequestsException("Too Many Requests");
-					else if (statusCode.is4xxClientError()) ex = new BadRequestException("Client Error " + cr.statusCode() + ": "+ statusCode);
-					else if (INTERNAL_SERVER_ERROR.equals(statusCode)) ex = new InternalServerErrorException("Internal Server Error");
-					else ex = new InternalServerErrorException("Server Error " + cr.statusCode() + ": "+ cr.statusCode());
-					return Mono.error(ex);
+					return Mono.error(StatusCodeExceptions.toException(statusCode, cr.headers().asHttpHeaders().getFirst(HttpHeaders.LOCATION)));
 				});
 	}
 
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+
+/**
+ * Enables the loggers used for wiretapping clients.
+ *
+ * Goes through Spring Boot's {@link LoggingSystem} rather than casting to the
+ * Logback classes, so it works with any logging system and in native images.
+ */
+final class WiretapLogging {
+
+
+	private WiretapLogging() {
+	}
+
+
+	static void enable(String loggerName) {
+		LoggingSystem.get(WiretapLogging.class.getClassLoader()).setLogLevel(loggerName, LogLevel.TRACE);
+	}
+
+
+}
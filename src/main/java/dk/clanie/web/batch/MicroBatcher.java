@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.batch;
+
+import static dk.clanie.core.Utils.opt;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.exception.NotFoundException;
+import lombok.Builder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Collects single-item lookups into calls to a bulk endpoint.
+ *
+ * Keys requested through {@link #get(Object)} are held back until either
+ * {@code maxBatchSize} distinct keys have been collected or {@code maxDelay}
+ * has passed since the first key of the batch was requested, whichever comes
+ * first. The batch is then fetched with a single call to {@code bulkCall}, and
+ * each value returned is matched to its waiting callers by the key given by
+ * {@code keyExtractor}. Keys missing from the bulk response complete with a
+ * {@link NotFoundException}, and if the bulk call fails, all callers in the
+ * batch get the error.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class MicroBatcher<K, V> {
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+	public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+
+	private final Function<List<K>, ? extends Publisher<V>> bulkCall;
+	private final Function<V, K> keyExtractor;
+	private final int maxBatchSize;
+	private final Duration maxDelay;
+	private final Scheduler scheduler;
+
+	private final Object lock = new Object();
+	private Map<K, List<Sinks.One<V>>> pending = new LinkedHashMap<>();
+	private @Nullable Disposable scheduledFlush;
+
+
+	/**
+	 * Creates a MicroBatcher.
+	 *
+	 * @param bulkCall fetches the values for a list of keys.
+	 * @param keyExtractor gets the key of a value returned by {@code bulkCall}.
+	 * @param maxBatchSize max. number of distinct keys in one bulk call (default {@value #DEFAULT_MAX_BATCH_SIZE}).
+	 * @param maxDelay max. time a key is held back waiting for the batch to fill up (default 10 ms).
+	 * @param scheduler used for time-triggered flushes (default {@link Schedulers#parallel()}).
+	 */
+	@Builder
+	public MicroBatcher(Function<List<K>, ? extends Publisher<V>> bulkCall, Function<V, K> keyExtractor,
+			@Nullable Integer maxBatchSize, @Nullable Duration maxDelay, @Nullable Scheduler scheduler) {
+		this.bulkCall = bulkCall;
+		this.keyExtractor = keyExtractor;
+		this.maxBatchSize = opt(maxBatchSize).orElse(DEFAULT_MAX_BATCH_SIZE);
+		this.maxDelay = opt(maxDelay).orElse(DEFAULT_MAX_DELAY);
+		this.scheduler = opt(scheduler).orElseGet(Schedulers::parallel);
+		if (this.maxBatchSize < 1) throw new IllegalArgumentException("maxBatchSize must be at least 1");
+	}
+
+
+	/**
+	 * Creates a MicroBatcher calling a bulk GET endpoint using given WebClient,
+	 * typically one obtained from {@link dk.clanie.web.WebClientFactory WebClientFactory}.
+	 *
+	 * @param webClient the client.
+	 * @param uriFunction builds the bulk request URI for a list of keys.
+	 * @param valueType type of the elements in the bulk response.
+	 * @param keyExtractor gets the key of a value in the bulk response.
+	 * @param maxBatchSize max. number of distinct keys in one bulk call.
+	 * @param maxDelay max. time a key is held back waiting for the batch to fill up.
+	 */
+	public static <K, V> MicroBatcher<K, V> bulkGet(WebClient webClient, Function<List<K>, String> uriFunction,
+			Class<V> valueType, Function<V, K> keyExtractor, int maxBatchSize, Duration maxDelay) {
+		return MicroBatcher.<K, V>builder()
+				.bulkCall(keys -> webClient.get()
+						.uri(uriFunction.apply(keys))
+						.retrieve()
+						.bodyToFlux(valueType))
+				.keyExtractor(keyExtractor)
+				.maxBatchSize(maxBatchSize)
+				.maxDelay(maxDelay)
+				.build();
+	}
+
+
+	/**
+	 * Gets the value with given key.
+	 *
+	 * The lookup is started on subscription and joins the current batch.
+	 *
+	 * @param key the key
+	 * @return Mono emitting the value, or an error if the value was not found
+	 *         ({@link NotFoundException}) or the bulk call failed.
+	 */
+	public Mono<V> get(K key) {
+		return Mono.defer(() -> {
+			Sinks.One<V> sink = Sinks.one();
+			Map<K, List<Sinks.One<V>>> fullBatch = null;
+			synchronized (lock) {
+				pending.computeIfAbsent(key, _ -> new ArrayList<>(1)).add(sink);
+				if (pending.size() >= maxBatchSize) {
+					fullBatch = takePending();
+				} else if (scheduledFlush == null) {
+					scheduledFlush = scheduler.schedule(this::flush, maxDelay.toNanos(), NANOSECONDS);
+				}
+			}
+			if (fullBatch != null) execute(fullBatch);
+			return sink.asMono();
+		});
+	}
+
+
+	/**
+	 * Sends the pending batch, if any, immediately.
+	 */
+	public void flush() {
+		Map<K, List<Sinks.One<V>>> batch;
+		synchronized (lock) {
+			if (pending.isEmpty()) return;
+			batch = takePending();
+		}
+		execute(batch);
+	}
+
+
+	private Map<K, List<Sinks.One<V>>> takePending() {
+		Map<K, List<Sinks.One<V>>> batch = pending;
+		pending = new LinkedHashMap<>();
+		if (scheduledFlush != null) {
+			scheduledFlush.dispose();
+			scheduledFlush = null;
+		}
+		return batch;
+	}
+
+
+	private void execute(Map<K, List<Sinks.One<V>>> batch) {
+		List<K> keys = new ArrayList<>(batch.keySet());
+		// Deferred, so an exception thrown by bulkCall fails the callers rather than the flush
+		Flux.defer(() -> bulkCall.apply(keys))
+		.collectMap(keyExtractor)
+		.subscribe(
+				found -> batch.forEach((key, sinks) -> {
+					V value = found.get(key);
+					for (Sinks.One<V> sink : sinks) {
+						if (value != null) sink.tryEmitValue(value);
+						else sink.tryEmitError(new NotFoundException("Not Found: " + key));
+					}
+				}),
+				error -> batch.values().forEach(sinks -> sinks.forEach(sink -> sink.tryEmitError(error))));
+	}
+
+
+}
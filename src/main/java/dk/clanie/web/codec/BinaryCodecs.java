@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.codec;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.cbor.JacksonCborDecoder;
+import org.springframework.http.codec.cbor.JacksonCborEncoder;
+import org.springframework.http.codec.protobuf.ProtobufDecoder;
+import org.springframework.http.codec.protobuf.ProtobufEncoder;
+import org.springframework.http.codec.smile.JacksonSmileDecoder;
+import org.springframework.http.codec.smile.JacksonSmileEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+
+/**
+ * Creates codecs and message converters for the {@link BinaryFormat}s.
+ */
+public final class BinaryCodecs {
+
+
+	private BinaryCodecs() {
+	}
+
+
+	/**
+	 * Gets the formats which have their library on the classpath.
+	 */
+	public static List<BinaryFormat> presentFormats() {
+		return Arrays.stream(BinaryFormat.values()).filter(BinaryFormat::isPresent).toList();
+	}
+
+
+	/**
+	 * Registers encoder and decoder for given format with given (client or server) codec configurer.
+	 *
+	 * The codecs are registered as custom codecs, which take precedence over the default ones.
+	 *
+	 * @throws IllegalStateException if the library needed for the format is not on the classpath.
+	 */
+	public static void register(CodecConfigurer configurer, BinaryFormat format) {
+		requirePresent(format);
+		configurer.customCodecs().registerWithDefaultConfig(encoder(format));
+		configurer.customCodecs().registerWithDefaultConfig(decoder(format));
+	}
+
+
+	/**
+	 * Gets a message converter, for RestClient or Spring MVC, for given format.
+	 *
+	 * @throws IllegalStateException if the library needed for the format is not on the classpath.
+	 */
+	public static HttpMessageConverter<?> converter(BinaryFormat format) {
+		requirePresent(format);
+		return switch (format) {
+		case CBOR -> new JacksonCborHttpMessageConverter();
+		case SMILE -> new JacksonSmileHttpMessageConverter();
+		case PROTOBUF -> new ProtobufHttpMessageConverter();
+		};
+	}
+
+
+	private static Encoder<?> encoder(BinaryFormat format) {
+		return switch (format) {
+		case CBOR -> new JacksonCborEncoder();
+		case SMILE -> new JacksonSmileEncoder();
+		case PROTOBUF -> new ProtobufEncoder();
+		};
+	}
+
+
+	private static Decoder<?> decoder(BinaryFormat format) {
+		return switch (format) {
+		case CBOR -> new JacksonCborDecoder();
+		case SMILE -> new JacksonSmileDecoder();
+		case PROTOBUF -> new ProtobufDecoder();
+		};
+	}
+
+
+	private static void requirePresent(BinaryFormat format) {
+		if (!format.isPresent()) {
+			throw new IllegalStateException("Binary format " + format + " is not available - add the library it needs to the classpath");
+		}
+	}
+
+
+}
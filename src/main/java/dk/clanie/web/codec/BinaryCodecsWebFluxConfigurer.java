@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.codec;
+
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.JacksonJsonEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Registers codecs for the {@link BinaryFormat}s which are on the classpath,
+ * leaving content negotiation to the application.
+ *
+ * The binary codecs are custom codecs, and WebFlux places custom object
+ * encoders before the default ones. So a JSON encoder is registered ahead of
+ * them, to keep JSON the response format when the Accept header doesn't ask
+ * for a binary format. Encoders for types like String and Resource come
+ * before all object encoders, and are not affected.
+ */
+public class BinaryCodecsWebFluxConfigurer implements WebFluxConfigurer {
+
+	private final JsonMapper jsonMapper;
+
+
+	/**
+	 * Creates a BinaryCodecsWebFluxConfigurer.
+	 *
+	 * @param jsonMapper used by the JSON encoder placed before the binary ones -
+	 *        typically the one used by the default JSON encoder.
+	 */
+	public BinaryCodecsWebFluxConfigurer(JsonMapper jsonMapper) {
+		this.jsonMapper = jsonMapper;
+	}
+
+
+	@Override
+	public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+		configurer.customCodecs().registerWithDefaultConfig(new JacksonJsonEncoder(jsonMapper));
+		BinaryCodecs.presentFormats().forEach(format -> BinaryCodecs.register(configurer, format));
+	}
+
+
+}
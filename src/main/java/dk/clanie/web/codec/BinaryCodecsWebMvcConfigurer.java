@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.codec;
+
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers message converters for the {@link BinaryFormat}s which are on the
+ * classpath, leaving content negotiation to the application.
+ *
+ * The converters are only registered with Spring MVC, not as beans, which
+ * would also add them to the clients built by Spring Boot.
+ * CBOR and Smile take the places Spring MVC has for them, after the JSON and
+ * String converters, so they are only used when asked for in the Accept header.
+ * Protobuf is a custom converter, which only handles Protobuf messages.
+ */
+public class BinaryCodecsWebMvcConfigurer implements WebMvcConfigurer {
+
+
+	@Override
+	public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+		for (BinaryFormat format : BinaryCodecs.presentFormats()) {
+			HttpMessageConverter<?> converter = BinaryCodecs.converter(format);
+			switch (format) {
+			case CBOR -> builder.withCborConverter(converter);
+			case SMILE -> builder.withSmileConverter(converter);
+			case PROTOBUF -> builder.addCustomConverter(converter);
+			}
+		}
+	}
+
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.codec;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.ClassUtils;
+
+import lombok.Getter;
+
+/**
+ * Compact binary formats which can be used instead of JSON.
+ *
+ * Each format needs a library on the classpath.
+ */
+public enum BinaryFormat {
+
+	/**
+	 * Concise Binary Object Representation (RFC 8949) - needs jackson-dataformat-cbor.
+	 */
+	CBOR(new MediaType("application", "cbor"), "tools.jackson.dataformat.cbor.CBORMapper"),
+
+	/**
+	 * Jackson's binary JSON - needs jackson-dataformat-smile.
+	 */
+	SMILE(new MediaType("application", "x-jackson-smile"), "tools.jackson.dataformat.smile.SmileMapper"),
+
+	/**
+	 * Protocol Buffers - needs protobuf-java. Only applies to protobuf
+	 * messages; other types are still sent as JSON.
+	 */
+	PROTOBUF(new MediaType("application", "x-protobuf"), "com.google.protobuf.Message");
+
+
+	@Getter
+	private final MediaType mediaType;
+
+	private final String requiredClassName;
+
+
+	BinaryFormat(MediaType mediaType, String requiredClassName) {
+		this.mediaType = mediaType;
+		this.requiredClassName = requiredClassName;
+	}
+
+
+	/**
+	 * Checks if the library needed for this format is on the classpath.
+	 */
+	public boolean isPresent() {
+		return ClassUtils.isPresent(requiredClassName, BinaryFormat.class.getClassLoader());
+	}
+
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.etag;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters maintained by the ETag filters.
+ */
+public class ETagStatistics {
+
+	private final LongAdder taggedResponses = new LongAdder();
+	private final LongAdder notModifiedResponses = new LongAdder();
+	private final LongAdder bytesSaved = new LongAdder();
+	private final LongAdder streamedResponses = new LongAdder();
+
+
+	void tagged() {
+		taggedResponses.increment();
+	}
+
+
+	void notModified(long size) {
+		notModifiedResponses.increment();
+		bytesSaved.add(size);
+	}
+
+
+	void streamed() {
+		streamedResponses.increment();
+	}
+
+
+	/**
+	 * Gets the number of responses which got an ETag computed from their content.
+	 */
+	public long getTaggedResponses() {
+		return taggedResponses.sum();
+	}
+
+
+	/**
+	 * Gets the number of 304 (NOT MODIFIED) responses sent instead of the content.
+	 */
+	public long getNotModifiedResponses() {
+		return notModifiedResponses.sum();
+	}
+
+
+	/**
+	 * Gets the number of content bytes not sent due to 304 (NOT MODIFIED) responses.
+	 */
+	public long getBytesSaved() {
+		return bytesSaved.sum();
+	}
+
+
+	/**
+	 * Gets the number of responses streamed without an ETag because they
+	 * exceeded the buffer threshold.
+	 */
+	public long getStreamedResponses() {
+		return streamedResponses.sum();
+	}
+
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.etag;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * ETag utilities.
+ *
+ * Controllers that know the version of what they return can skip rendering
+ * entirely by passing {@link #fromVersion(Object)} to
+ * {@code WebRequest.checkNotModified(String)} (Spring MVC) or
+ * {@code ServerWebExchange.checkNotModified(String)} (WebFlux).
+ * The ETag filters leave responses which already have an ETag alone.
+ */
+public final class ETags {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+
+	private ETags() {
+	}
+
+
+	/**
+	 * Gets a strong ETag for given version of a resource.
+	 */
+	public static String fromVersion(Object version) {
+		return "\"" + version + "\"";
+	}
+
+
+	/**
+	 * Gets a strong ETag from a content digest.
+	 */
+	static String fromDigest(byte[] digest) {
+		return "\"" + HEX.formatHex(digest) + "\"";
+	}
+
+
+	/**
+	 * Creates the digest used for content based ETags.
+	 */
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * Checks if an If-None-Match header matches given ETag, using the weak
+	 * comparison required for If-None-Match.
+	 *
+	 * @param ifNoneMatch values of the If-None-Match header; may be null.
+	 * @param etag the ETag of the current representation.
+	 */
+	static boolean matches(@Nullable Iterable<String> ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) return false;
+		String opaqueTag = stripWeak(etag);
+		for (String value : ifNoneMatch) {
+			for (String candidate : value.split(",")) {
+				candidate = candidate.trim();
+				if (candidate.equals("*") || stripWeak(candidate).equals(opaqueTag)) return true;
+			}
+		}
+		return false;
+	}
+
+
+	private static String stripWeak(String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.etag;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import lombok.Getter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter adding content based strong ETags to GET responses, and
+ * answering matching If-None-Match requests with 304 (NOT MODIFIED).
+ *
+ * HEAD requests are passed on unchanged, like with {@link StreamingETagFilter}.
+ *
+ * Content is buffered up to {@code bufferThreshold} bytes while the digest is
+ * updated buffer by buffer. A response exceeding the threshold is streamed on
+ * without an ETag, since the headers must be sent before the rest of the
+ * content is known.
+ *
+ * Responses which already have an ETag, eg. from
+ * {@code ServerWebExchange.checkNotModified(String)}, are streamed unchanged.
+ *
+ * @see StreamingETagFilter
+ * @see ETags
+ */
+public class ReactiveStreamingETagFilter implements WebFilter, Ordered {
+
+	public static final int ORDER = StreamingETagFilter.ORDER;
+
+	private final int bufferThreshold;
+
+	@Getter
+	private final ETagStatistics statistics = new ETagStatistics();
+
+
+	/**
+	 * Creates a ReactiveStreamingETagFilter.
+	 *
+	 * @param bufferThreshold max. size in bytes of responses which get an ETag.
+	 */
+	public ReactiveStreamingETagFilter(int bufferThreshold) {
+		this.bufferThreshold = bufferThreshold;
+	}
+
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		HttpMethod method = exchange.getRequest().getMethod();
+		if (!HttpMethod.GET.equals(method)) return chain.filter(exchange);
+		ServerHttpResponse response = new ETagResponseDecorator(exchange);
+		return chain.filter(exchange.mutate().response(response).build());
+	}
+
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+
+	private final class ETagResponseDecorator extends ServerHttpResponseDecorator {
+
+		private final ServerWebExchange exchange;
+
+
+		ETagResponseDecorator(ServerWebExchange exchange) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+		}
+
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			HttpStatusCode status = getStatusCode();
+			if (getHeaders().getETag() != null || (status != null && !HttpStatus.OK.equals(status))) {
+				return super.writeWith(body);
+			}
+			BufferState state = new BufferState();
+			Flux<DataBuffer> content = Flux.<DataBuffer>from(body)
+					.bufferUntil(state::add)
+					.concatMap(buffers -> Flux.fromIterable(state.decide(buffers) ? buffers : releaseAll(buffers)))
+					// Releases buffers held by bufferUntil and concatMap if the response is cancelled
+					.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+			return super.writeWith(content);
+		}
+
+
+		private static List<DataBuffer> releaseAll(List<DataBuffer> buffers) {
+			buffers.forEach(DataBufferUtils::release);
+			return List.of();
+		}
+
+
+		/**
+		 * Tracks the content of one response.
+		 */
+		private final class BufferState {
+
+			private final MessageDigest digest = ETags.newDigest();
+			private long size;
+			private boolean streaming;
+			private boolean decided;
+
+
+			/**
+			 * Adds a buffer to the digest.
+			 *
+			 * @return true if the buffers collected so far should be emitted
+			 *         because the threshold has been exceeded.
+			 */
+			boolean add(DataBuffer buffer) {
+				if (streaming) return true;
+				size += buffer.readableByteCount();
+				if (size > bufferThreshold) {
+					streaming = true;
+					statistics.streamed();
+					return true;
+				}
+				try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+					while (iterator.hasNext()) {
+						ByteBuffer byteBuffer = iterator.next();
+						digest.update(byteBuffer);
+					}
+				}
+				return false;
+			}
+
+
+			/**
+			 * Called with each list of buffers before it is written. When the first
+			 * list is the entire content, sets the ETag and checks If-None-Match.
+			 *
+			 * @return true if the buffers should be written.
+			 */
+			boolean decide(List<DataBuffer> buffers) {
+				if (decided || streaming) {
+					decided = true;
+					return true;
+				}
+				decided = true;
+				String etag = ETags.fromDigest(digest.digest());
+				getHeaders().setETag(etag);
+				statistics.tagged();
+				if (ETags.matches(exchange.getRequest().getHeaders().get(HttpHeaders.IF_NONE_MATCH), etag)) {
+					setStatusCode(HttpStatus.NOT_MODIFIED);
+					getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+					statistics.notModified(size);
+					return false;
+				}
+				return true;
+			}
+
+
+		}
+
+
+	}
+
+
+}
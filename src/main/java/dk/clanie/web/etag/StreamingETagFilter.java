@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.etag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.util.Collections;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.Getter;
+
+/**
+ * Servlet filter adding content based strong ETags to GET responses, and
+ * answering matching If-None-Match requests with 304 (NOT MODIFIED).
+ *
+ * HEAD requests are passed on unchanged. The container drops the body of a
+ * HEAD response before this filter sees it, so it would get the ETag of an
+ * empty body rather than that of the GET response.
+ *
+ * Unlike Spring's {@code ShallowEtagHeaderFilter} the content is only buffered
+ * up to {@code bufferThreshold} bytes. The digest is updated as content is
+ * written; a response exceeding the threshold is streamed on without an ETag,
+ * since the headers must be sent before the rest of the content is known.
+ *
+ * Responses which already have an ETag, eg. from
+ * {@code WebRequest.checkNotModified(String)}, are streamed unchanged.
+ *
+ * @see ReactiveStreamingETagFilter
+ * @see ETags
+ */
+public class StreamingETagFilter extends OncePerRequestFilter implements Ordered {
+
+	public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+	private final int bufferThreshold;
+
+	@Getter
+	private final ETagStatistics statistics = new ETagStatistics();
+
+
+	/**
+	 * Creates a StreamingETagFilter.
+	 *
+	 * @param bufferThreshold max. size in bytes of responses which get an ETag.
+	 */
+	public StreamingETagFilter(int bufferThreshold) {
+		this.bufferThreshold = bufferThreshold;
+	}
+
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String method = request.getMethod();
+		if (!HttpMethod.GET.matches(method)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		ETagResponseWrapper wrapper = new ETagResponseWrapper(response);
+		filterChain.doFilter(request, wrapper);
+		if (request.isAsyncStarted()) {
+			// Content is still to come from another thread.
+			wrapper.switchToPassThrough();
+		} else {
+			wrapper.complete(request);
+		}
+	}
+
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+
+	private final class ETagResponseWrapper extends HttpServletResponseWrapper {
+
+		private final MessageDigest digest = ETags.newDigest();
+		private @Nullable ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		private @Nullable ServletOutputStream outputStream;
+		private @Nullable PrintWriter writer;
+		private boolean flushRequested;
+
+
+		ETagResponseWrapper(HttpServletResponse response) {
+			super(response);
+		}
+
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (outputStream == null) outputStream = new ETagOutputStream();
+			return outputStream;
+		}
+
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (writer == null) writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+			return writer;
+		}
+
+
+		@Override
+		public void flushBuffer() throws IOException {
+			// Flushing would commit the response - ignored while buffering.
+			if (writer != null) writer.flush();
+			if (buffer == null) super.flushBuffer();
+		}
+
+
+		@Override
+		public void setContentLength(int len) {
+			if (buffer == null) super.setContentLength(len);
+		}
+
+
+		@Override
+		public void setContentLengthLong(long len) {
+			if (buffer == null) super.setContentLengthLong(len);
+		}
+
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			if (buffer != null) {
+				buffer.reset();
+				digest.reset();
+			}
+		}
+
+
+		@Override
+		public void reset() {
+			super.reset();
+			if (buffer != null) {
+				buffer.reset();
+				digest.reset();
+			}
+		}
+
+
+		private void write(byte[] bytes, int offset, int length) throws IOException {
+			if (buffer != null) {
+				if (buffer.size() == 0 && containsHeader(HttpHeaders.ETAG)) {
+					switchToPassThrough();
+				} else if (buffer.size() + length > bufferThreshold) {
+					statistics.streamed();
+					switchToPassThrough();
+				}
+			}
+			if (buffer == null) {
+				getResponse().getOutputStream().write(bytes, offset, length);
+			} else {
+				digest.update(bytes, offset, length);
+				buffer.write(bytes, offset, length);
+			}
+		}
+
+
+		void switchToPassThrough() throws IOException {
+			if (buffer == null) return;
+			ByteArrayOutputStream buffered = buffer;
+			buffer = null;
+			if (buffered.size() > 0) buffered.writeTo(getResponse().getOutputStream());
+			// Deliver content the application flushed while it was buffered, eg. the start of a stream
+			if (flushRequested) getResponse().getOutputStream().flush();
+		}
+
+
+		private void flush() throws IOException {
+			// Flushing would commit the response - deferred while buffering.
+			if (buffer == null) getResponse().getOutputStream().flush();
+			else flushRequested = true;
+		}
+
+
+		void complete(HttpServletRequest request) throws IOException {
+			if (writer != null) writer.flush();
+			ByteArrayOutputStream buffered = buffer;
+			if (buffered == null) return;
+			buffer = null;
+			if (getStatus() == HttpServletResponse.SC_OK && !containsHeader(HttpHeaders.ETAG)) {
+				String etag = ETags.fromDigest(digest.digest());
+				setHeader(HttpHeaders.ETAG, etag);
+				statistics.tagged();
+				if (ETags.matches(Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH)), etag)) {
+					setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+					statistics.notModified(buffered.size());
+					return;
+				}
+			}
+			if (buffered.size() > 0) {
+				super.setContentLength(buffered.size());
+				buffered.writeTo(getResponse().getOutputStream());
+			}
+		}
+
+
+		private final class ETagOutputStream extends ServletOutputStream {
+
+			@Override
+			public void write(int b) throws IOException {
+				ETagResponseWrapper.this.write(new byte[] { (byte) b }, 0, 1);
+			}
+
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				ETagResponseWrapper.this.write(b, off, len);
+			}
+
+
+			@Override
+			public void flush() throws IOException {
+				ETagResponseWrapper.this.flush();
+			}
+
+
+			@Override
+			public boolean isReady() {
+				// Writes to the buffer never block
+				if (buffer != null) return true;
+				try {
+					return getResponse().getOutputStream().isReady();
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				try {
+					getResponse().getOutputStream().setWriteListener(writeListener);
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+
+
+		}
+
+
+	}
+
+
+}
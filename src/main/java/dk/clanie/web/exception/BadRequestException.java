@@ -26,6 +26,6 @@ import lombok.experimental.StandardException;
 @StandardException
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 @SuppressWarnings("serial")
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends ClientErrorException {
 
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.exception;
+
+import lombok.experimental.StandardException;
+
+/**
+ * Base class of the exceptions representing expected client errors (3xx and
+ * 4xx responses), which skip capturing their stack trace when
+ * {@link ClientErrorStackTraces#isSuppressed() suppressed}.
+ */
+@StandardException
+@SuppressWarnings("serial")
+public abstract class ClientErrorException extends RuntimeException {
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return ClientErrorStackTraces.isSuppressed() ? this : super.fillInStackTrace();
+	}
+
+}
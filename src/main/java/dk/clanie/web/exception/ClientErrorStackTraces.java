@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.exception;
+
+import org.springframework.core.SpringProperties;
+
+/**
+ * Controls whether stack traces are captured for the exceptions representing
+ * expected client errors (3xx and 4xx responses), ie. the subclasses of
+ * {@link ClientErrorException}.
+ *
+ * Capturing the stack trace is by far the most expensive part of creating an
+ * exception, and for these exceptions it is rarely of any use.
+ * Stack traces are captured by default.
+ *
+ * The setting applies to the whole JVM, so it is not an application property
+ * but the flag {@value #PROPERTY}, given as a JVM system property or in a
+ * {@code spring.properties} file in the root of the classpath. It is read
+ * once, when the first of the exceptions is created.
+ */
+public final class ClientErrorStackTraces {
+
+	public static final String PROPERTY = "clanie.web.exceptions.suppress-client-error-stack-traces";
+
+	private static final boolean SUPPRESSED = SpringProperties.getFlag(PROPERTY);
+
+
+	private ClientErrorStackTraces() {
+	}
+
+
+	public static boolean isSuppressed() {
+		return SUPPRESSED;
+	}
+
+
+}
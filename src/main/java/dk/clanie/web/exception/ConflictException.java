@@ -26,6 +26,6 @@ import lombok.experimental.StandardException;
 @StandardException
 @ResponseStatus(HttpStatus.CONFLICT)
 @SuppressWarnings("serial")
-public class ConflictException extends RuntimeException {
+public class ConflictException extends ClientErrorException {
 
 }
@@ -26,6 +26,6 @@ import lombok.experimental.StandardException;
 @StandardException
 @ResponseStatus(HttpStatus.FORBIDDEN)
 @SuppressWarnings("serial")
-public class ForbiddenException extends RuntimeException {
+public class ForbiddenException extends ClientErrorException {
 
 }
@@ -25,7 +25,7 @@ import lombok.Getter;
 
 @ResponseStatus(HttpStatus.FOUND)
 @SuppressWarnings("serial")
-public class FoundException extends RuntimeException {
+public class FoundException extends ClientErrorException {
 
 	/**
 	 * Value of the Location header in the response.
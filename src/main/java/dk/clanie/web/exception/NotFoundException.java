@@ -26,6 +26,6 @@ import lombok.experimental.StandardException;
 @StandardException
 @ResponseStatus(HttpStatus.NOT_FOUND)
 @SuppressWarnings("serial")
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends ClientErrorException {
 
 }
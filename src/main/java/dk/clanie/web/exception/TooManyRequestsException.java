@@ -18,14 +18,31 @@
 
 package dk.clanie.web.exception;
 
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import lombok.Getter;
 import lombok.experimental.StandardException;
 
 @StandardException
 @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
 @SuppressWarnings("serial")
-public class TooManyRequestsException extends RuntimeException {
+public class TooManyRequestsException extends ClientErrorException {
+
+	/**
+	 * How long the client should wait before retrying, if known.
+	 *
+	 * Sent as the Retry-After header in responses.
+	 */
+	@Getter
+	private @Nullable Duration retryAfter;
+
+	public TooManyRequestsException(String message, @Nullable Duration retryAfter) {
+		super(message);
+		this.retryAfter = retryAfter;
+	}
 
 }
@@ -26,6 +26,6 @@ import lombok.experimental.StandardException;
 @StandardException
 @ResponseStatus(HttpStatus.UNAUTHORIZED)
 @SuppressWarnings("serial")
-public class UnauthorizedException extends RuntimeException {
+public class UnauthorizedException extends ClientErrorException {
 
 }
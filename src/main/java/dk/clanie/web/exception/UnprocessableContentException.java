@@ -26,6 +26,6 @@ import lombok.experimental.StandardException;
 @StandardException
 @ResponseStatus(HttpStatus.UNPROCESSABLE_CONTENT)
 @SuppressWarnings("serial")
-public class UnprocessableContentException extends RuntimeException {
+public class UnprocessableContentException extends ClientErrorException {
 
 }
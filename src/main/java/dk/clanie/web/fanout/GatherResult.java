@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.fanout;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jspecify.annotations.Nullable;
+
+import dk.clanie.web.fanout.Outcome.Failure;
+import dk.clanie.web.fanout.Outcome.Success;
+import dk.clanie.web.fanout.Outcome.Timeout;
+
+/**
+ * Outcomes of the calls in a {@link ScatterGather}, by key, in the order the calls were given.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class GatherResult<K, V> {
+
+	private final Map<K, Outcome<V>> outcomes;
+
+
+	GatherResult(Map<K, Outcome<V>> outcomes) {
+		this.outcomes = Collections.unmodifiableMap(outcomes);
+	}
+
+
+	/**
+	 * Gets the outcomes of all calls.
+	 */
+	public Map<K, Outcome<V>> getOutcomes() {
+		return outcomes;
+	}
+
+
+	/**
+	 * Gets the outcome of the call with given key.
+	 */
+	public @Nullable Outcome<V> getOutcome(K key) {
+		return outcomes.get(key);
+	}
+
+
+	/**
+	 * Gets the values of the successful calls which completed with a value.
+	 */
+	public Map<K, V> getValues() {
+		Map<K, V> values = new LinkedHashMap<>();
+		outcomes.forEach((key, outcome) -> {
+			if (outcome instanceof Success<V>(V value) && value != null) values.put(key, value);
+		});
+		return values;
+	}
+
+
+	/**
+	 * Gets the errors of the failed calls.
+	 */
+	public Map<K, Throwable> getFailures() {
+		Map<K, Throwable> failures = new LinkedHashMap<>();
+		outcomes.forEach((key, outcome) -> {
+			if (outcome instanceof Failure<V>(Throwable error)) failures.put(key, error);
+		});
+		return failures;
+	}
+
+
+	/**
+	 * Gets the keys of the calls which did not complete before the deadline.
+	 */
+	public Set<K> getTimedOut() {
+		return outcomes.entrySet().stream()
+				.filter(entry -> entry.getValue() instanceof Timeout)
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+	}
+
+
+	/**
+	 * Checks if all calls succeeded.
+	 */
+	public boolean isComplete() {
+		return outcomes.values().stream().allMatch(Success.class::isInstance);
+	}
+
+
+	@Override
+	public String toString() {
+		return outcomes.toString();
+	}
+
+
+}
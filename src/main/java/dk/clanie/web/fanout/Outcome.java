@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.fanout;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Outcome of one call in a {@link ScatterGather}.
+ *
+ * @param <V> value type
+ */
+public sealed interface Outcome<V> {
+
+
+	/**
+	 * The call completed with a value - null if it completed empty.
+	 */
+	record Success<V>(@Nullable V value) implements Outcome<V> {
+	}
+
+
+	/**
+	 * The call failed. With clients from the factories the error is one of the
+	 * exceptions in {@code dk.clanie.web.exception} if the response was unsuccessful.
+	 */
+	record Failure<V>(Throwable error) implements Outcome<V> {
+	}
+
+
+	/**
+	 * The call did not complete before the deadline, and was cancelled (or never started).
+	 */
+	record Timeout<V>() implements Outcome<V> {
+	}
+
+
+}
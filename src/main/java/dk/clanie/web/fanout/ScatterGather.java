@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.fanout;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dk.clanie.web.fanout.Outcome.Failure;
+import dk.clanie.web.fanout.Outcome.Success;
+import dk.clanie.web.fanout.Outcome.Timeout;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs a number of calls in parallel and gathers their outcomes, with a
+ * shared deadline.
+ *
+ * Unlike {@code Mono.zip} a failed or slow call doesn't fail the whole lot.
+ * Each call gets its own {@link Outcome}, and when the deadline is reached
+ * the calls still in progress are cancelled, freeing their connections,
+ * and reported as timed out.
+ *
+ * <pre>
+ * Map&lt;String, Mono&lt;Offer&gt;&gt; calls = new LinkedHashMap&lt;&gt;();
+ * calls.put("a", supplierA.get().uri("/offers/{id}", id).retrieve().bodyToMono(Offer.class));
+ * calls.put("b", supplierB.get().uri("/offers/{id}", id).retrieve().bodyToMono(Offer.class));
+ * GatherResult&lt;String, Offer&gt; result = ScatterGather.run(calls, Duration.ofMillis(300), 8).block();
+ * </pre>
+ */
+public final class ScatterGather {
+
+
+	private ScatterGather() {
+	}
+
+
+	/**
+	 * Runs the given calls, at most {@code maxConcurrency} at a time.
+	 *
+	 * The deadline counts from subscription, so calls which have to wait for
+	 * others to complete before they start get less time.
+	 *
+	 * @param calls the calls, by key.
+	 * @param deadline time within which calls must complete.
+	 * @param maxConcurrency max. number of calls in progress at the same time.
+	 * @return Mono emitting the outcome of each call, never an error.
+	 */
+	public static <K, V> Mono<GatherResult<K, V>> run(Map<K, Mono<V>> calls, Duration deadline, int maxConcurrency) {
+		return Mono.defer(() -> {
+			Map<K, Outcome<V>> completed = new ConcurrentHashMap<>();
+			return Flux.fromIterable(calls.entrySet())
+					.flatMap(call -> call.getValue()
+							.<Outcome<V>>map(Success::new)
+							.defaultIfEmpty(new Success<>(null))
+							.onErrorResume(e -> Mono.just(new Failure<>(e)))
+							.doOnNext(outcome -> completed.put(call.getKey(), outcome)),
+							maxConcurrency)
+					// Cancels calls in progress, and calls not yet started, at the deadline
+					.takeUntilOther(Mono.delay(deadline))
+					.then(Mono.fromSupplier(() -> {
+						Map<K, Outcome<V>> outcomes = new LinkedHashMap<>();
+						calls.keySet().forEach(key -> outcomes.put(key, completed.getOrDefault(key, new Timeout<>())));
+						return new GatherResult<>(outcomes);
+					}));
+		});
+	}
+
+
+	/**
+	 * Runs the given calls, all at once.
+	 *
+	 * @see #run(Map, Duration, int)
+	 */
+	public static <K, V> Mono<GatherResult<K, V>> run(Map<K, Mono<V>> calls, Duration deadline) {
+		return run(calls, deadline, Math.max(1, calls.size()));
+	}
+
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+/**
+ * Concurrency limit adjusted by additive increase / multiplicative decrease (AIMD)
+ * from measured latency.
+ *
+ * The lowest round trip time seen is taken as the latency of an unloaded system.
+ * A sample with a round trip time above {@code latencyTolerance} times that, or
+ * a sample flagged as dropped (eg. rejected by the server), is a sign of congestion
+ * and multiplies the limit by {@code backoffRatio}. Other samples increase the
+ * limit by one, as long as at least half of it is in use.
+ *
+ * The lowest round trip time is re-measured every {@value #MIN_RTT_RESET_SAMPLES}
+ * samples, so that the limit follows lasting changes in the latency of the system.
+ */
+public class AimdLimit {
+
+	static final int MIN_RTT_RESET_SAMPLES = 1000;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double backoffRatio;
+	private final double latencyTolerance;
+
+	private volatile int limit;
+	private long minRttNanos = Long.MAX_VALUE;
+	private int samplesSinceMinRttReset;
+	private long lastDecreaseNanos;
+
+
+	/**
+	 * Creates an AimdLimit.
+	 *
+	 * @param initialLimit the initial limit.
+	 * @param minLimit the limit is never decreased below this.
+	 * @param maxLimit the limit is never increased above this.
+	 * @param backoffRatio factor, between 0 and 1, applied to the limit on congestion.
+	 * @param latencyTolerance how many times the lowest round trip time a sample may
+	 *        take before it is considered a sign of congestion.
+	 */
+	public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+		if (minLimit < 1 || maxLimit < minLimit) throw new IllegalArgumentException("Require 1 <= minLimit <= maxLimit");
+		if (backoffRatio <= 0 || backoffRatio >= 1) throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+		if (latencyTolerance < 1) throw new IllegalArgumentException("latencyTolerance must be at least 1");
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.backoffRatio = backoffRatio;
+		this.latencyTolerance = latencyTolerance;
+		this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+		this.lastDecreaseNanos = System.nanoTime();
+	}
+
+
+	/**
+	 * Gets the current limit.
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+
+	/**
+	 * Adjusts the limit from the outcome of a request.
+	 *
+	 * @param startNanos {@link System#nanoTime()} when the request was started.
+	 * @param rttNanos round trip time of the request.
+	 * @param inFlight number of requests in flight when the request completed, including itself.
+	 * @param dropped whether the request was rejected or failed due to overload.
+	 */
+	public synchronized void onSample(long startNanos, long rttNanos, int inFlight, boolean dropped) {
+		if (++samplesSinceMinRttReset > MIN_RTT_RESET_SAMPLES) {
+			minRttNanos = rttNanos;
+			samplesSinceMinRttReset = 0;
+		} else if (rttNanos < minRttNanos) {
+			minRttNanos = rttNanos;
+		}
+
+		if (dropped || rttNanos > minRttNanos * latencyTolerance) {
+			// Back off at most once per round trip - requests started before
+			// the last decrease reflect the load before it.
+			if (startNanos - lastDecreaseNanos > 0) {
+				limit = Math.max(minLimit, (int) (limit * backoffRatio));
+				lastDecreaseNanos = System.nanoTime();
+			}
+		} else if (inFlight * 2 >= limit) {
+			limit = Math.min(maxLimit, limit + 1);
+		}
+	}
+
+
+}
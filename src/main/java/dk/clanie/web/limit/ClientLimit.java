@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Settings for the adaptive concurrency limit of a client.
+ *
+ * @see ClientLimiter
+ * @see AimdLimit
+ */
+@Value
+@Builder(toBuilder = true)
+public class ClientLimit {
+
+	@Builder.Default
+	int initialLimit = 20;
+
+	@Builder.Default
+	int minLimit = 1;
+
+	@Builder.Default
+	int maxLimit = 200;
+
+	@Builder.Default
+	double backoffRatio = 0.9;
+
+	@Builder.Default
+	double latencyTolerance = 2.0;
+
+	/**
+	 * Max. number of requests waiting for a permit. Requests beyond this are
+	 * rejected right away. Zero means no queueing.
+	 */
+	@Builder.Default
+	int maxQueueSize = 100;
+
+	/**
+	 * Max. time a request waits for a permit before it is rejected.
+	 */
+	@Builder.Default
+	Duration maxQueueWait = Duration.ofSeconds(1);
+
+	/**
+	 * Share of the limit only available to {@link Priority#HIGH} requests.
+	 * Rounded down, so with the default nothing is reserved when the limit is below 10.
+	 */
+	@Builder.Default
+	double highPriorityReserve = 0.1;
+
+	/**
+	 * Time after which a queued request is treated as one priority higher,
+	 * so low priority requests are not starved. Zero means never.
+	 */
+	@Builder.Default
+	Duration priorityAging = Duration.ofMillis(250);
+
+
+	/**
+	 * Creates a new limiter with these settings.
+	 */
+	public ClientLimiter newLimiter() {
+		AimdLimit limit = new AimdLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance);
+		return new ClientLimiter(limit, maxQueueSize, maxQueueWait, highPriorityReserve, priorityAging);
+	}
+
+
+}
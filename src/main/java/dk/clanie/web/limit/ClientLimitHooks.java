@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import dk.clanie.web.limit.ClientLimiter.Permit;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hooks installed by the client factories to limit the requests in flight
+ * with a {@link ClientLimiter}.
+ *
+ * 429 (TOO MANY REQUESTS) and 503 (SERVICE UNAVAILABLE) responses - which
+ * become {@link dk.clanie.web.exception.TooManyRequestsException TooManyRequestsException}
+ * and {@link dk.clanie.web.exception.InternalServerErrorException InternalServerErrorException}
+ * - and I/O errors count as signs of overload. The permit is released when
+ * the response status and headers are received.
+ *
+ * The {@link Priority} of a request is taken from its {@link Priority#ATTRIBUTE} attribute.
+ */
+public final class ClientLimitHooks {
+
+
+	private ClientLimitHooks() {
+	}
+
+
+	/**
+	 * Gets a filter limiting the calls made with a WebClient.
+	 *
+	 * Cancelling a queued request gives up its place in the queue, and a
+	 * permit granted just as the request is cancelled is released again.
+	 */
+	public static ExchangeFilterFunction exchangeFilter(ClientLimiter limiter) {
+		return (request, next) -> Mono.fromFuture(() -> limiter.acquire(Priority.of(request.attribute(Priority.ATTRIBUTE).orElse(null))), false)
+				.doOnDiscard(Permit.class, Permit::releaseIgnored)
+				.flatMap(permit -> next.exchange(request)
+						.doOnNext(response -> release(permit, response.statusCode()))
+						.doOnError(_ -> permit.releaseDropped())
+						.doFinally(_ -> permit.releaseIgnored()));
+	}
+
+
+	/**
+	 * Gets an interceptor limiting the calls made with a RestClient.
+	 */
+	public static ClientHttpRequestInterceptor requestInterceptor(ClientLimiter limiter) {
+		return (request, body, execution) -> {
+			Permit permit = limiter.acquireBlocking(Priority.of(request.getAttributes().get(Priority.ATTRIBUTE)));
+			try {
+				ClientHttpResponse response = execution.execute(request, body);
+				release(permit, response.getStatusCode());
+				return response;
+			} catch (IOException | RuntimeException e) {
+				permit.releaseDropped();
+				throw e;
+			}
+		};
+	}
+
+
+	private static void release(Permit permit, HttpStatusCode statusCode) {
+		if (isOverload(statusCode)) permit.releaseDropped();
+		else permit.release();
+	}
+
+
+	static boolean isOverload(HttpStatusCode statusCode) {
+		return HttpStatus.TOO_MANY_REQUESTS.equals(statusCode) || HttpStatus.SERVICE_UNAVAILABLE.equals(statusCode);
+	}
+
+
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+import dk.clanie.web.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+/**
+ * Limits the number of requests a client has in flight to an {@link AimdLimit},
+ * queueing requests beyond the limit.
+ *
+ * When a permit is released the next request in the queue, if any, is admitted.
+ * New requests don't overtake queued ones - they are queued too, unless the
+ * queue is empty.
+ * Requests are rejected with a {@link TooManyRequestsException} when the queue
+ * is full, or when they have waited longer than the max. queue wait.
+ *
+ * Queued requests are admitted by {@link Priority}, oldest first within a
+ * priority. A share of the limit is reserved for high priority requests, so
+ * they are admitted even when lower priority traffic uses the rest. To keep
+ * low priority requests from starving, a queued request is treated as one
+ * priority higher for each period of priority aging it has waited - but it
+ * never uses the reserved capacity.
+ *
+ * @see ClientLimitHooks
+ */
+public class ClientLimiter {
+
+	private static final ScheduledThreadPoolExecutor TIMEOUTS = newTimeoutExecutor();
+
+	@Getter
+	private final AimdLimit limit;
+	private final int maxQueueSize;
+	private final Duration maxQueueWait;
+	private final double highPriorityReserve;
+	private final long priorityAgingNanos;
+	private final Map<Priority, ArrayDeque<Waiter>> queues = new EnumMap<>(Priority.class);
+	private final LongAdder rejected = new LongAdder();
+	private volatile @Nullable Map<Priority, Timer> queueWaitTimers;
+	private int inFlight;
+	private int queued;
+
+
+	/**
+	 * Creates a ClientLimiter with no capacity reserved for high priority
+	 * requests, and no priority aging.
+	 *
+	 * @param limit the limit.
+	 * @param maxQueueSize max. number of requests waiting for a permit.
+	 * @param maxQueueWait max. time a request waits for a permit.
+	 */
+	public ClientLimiter(AimdLimit limit, int maxQueueSize, Duration maxQueueWait) {
+		this(limit, maxQueueSize, maxQueueWait, 0, Duration.ZERO);
+	}
+
+
+	/**
+	 * Creates a ClientLimiter.
+	 *
+	 * @param limit the limit.
+	 * @param maxQueueSize max. number of requests waiting for a permit.
+	 * @param maxQueueWait max. time a request waits for a permit.
+	 * @param highPriorityReserve share of the limit only available to {@link Priority#HIGH} requests.
+	 * @param priorityAging time after which a queued request is treated as one priority higher - zero means never.
+	 */
+	public ClientLimiter(AimdLimit limit, int maxQueueSize, Duration maxQueueWait, double highPriorityReserve, Duration priorityAging) {
+		this.limit = limit;
+		this.maxQueueSize = maxQueueSize;
+		this.maxQueueWait = maxQueueWait;
+		this.highPriorityReserve = highPriorityReserve;
+		this.priorityAgingNanos = priorityAging.toNanos();
+		for (Priority priority : Priority.values()) queues.put(priority, new ArrayDeque<>());
+	}
+
+
+	/**
+	 * Requests a permit with {@link Priority#NORMAL} priority.
+	 *
+	 * @see #acquire(Priority)
+	 */
+	public CompletableFuture<Permit> acquire() {
+		return acquire(Priority.NORMAL);
+	}
+
+
+	/**
+	 * Requests a permit.
+	 *
+	 * @param priority priority of the request.
+	 * @return a future completed with a permit, which must be released when
+	 *         the request completes, or failed with a TooManyRequestsException.
+	 *         Cancelling the future gives up the place in the queue.
+	 */
+	public CompletableFuture<Permit> acquire(Priority priority) {
+		Waiter waiter;
+		synchronized (this) {
+			if (queued == 0 && inFlight < capacity(priority)) {
+				inFlight++;
+				recordQueueWait(priority, 0);
+				return CompletableFuture.completedFuture(new Permit());
+			}
+			if (queued >= maxQueueSize) {
+				rejected.increment();
+				return CompletableFuture.failedFuture(rejection());
+			}
+			waiter = new Waiter(priority, System.nanoTime(), new CompletableFuture<>());
+			queues.get(priority).add(waiter);
+			queued++;
+		}
+		// Rejected on the common pool, not the timeout thread, as completing the future runs the caller's continuation
+		ScheduledFuture<?> timeout = TIMEOUTS.schedule(() -> ForkJoinPool.commonPool().execute(() -> {
+			if (dequeue(waiter) && waiter.future().completeExceptionally(rejection())) rejected.increment();
+		}), maxQueueWait.toNanos(), TimeUnit.NANOSECONDS);
+		waiter.future().whenComplete((_, e) -> {
+			timeout.cancel(false);
+			if (e != null) dequeue(waiter);
+		});
+		// The limit may have grown since the queued requests were last admitted
+		admitWaiters();
+		return waiter.future();
+	}
+
+
+	/**
+	 * Requests a permit with {@link Priority#NORMAL} priority, blocking while queued.
+	 *
+	 * @see #acquireBlocking(Priority)
+	 */
+	public Permit acquireBlocking() {
+		return acquireBlocking(Priority.NORMAL);
+	}
+
+
+	/**
+	 * Requests a permit, blocking while queued.
+	 *
+	 * @param priority priority of the request.
+	 * @return a permit, which must be released when the request completes.
+	 * @throws TooManyRequestsException if the request is rejected.
+	 */
+	public Permit acquireBlocking(Priority priority) {
+		CompletableFuture<Permit> future = acquire(priority);
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			if (!future.cancel(false)) future.thenAccept(Permit::releaseIgnored);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for permit", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+
+	/**
+	 * Gets the number of requests with given priority which may be in flight.
+	 */
+	private int capacity(Priority priority) {
+		int current = limit.getLimit();
+		return priority == Priority.HIGH ? current : current - (int) (current * highPriorityReserve);
+	}
+
+
+	private synchronized boolean dequeue(Waiter waiter) {
+		if (!queues.get(waiter.priority()).remove(waiter)) return false;
+		queued--;
+		return true;
+	}
+
+
+	private void recordQueueWait(Priority priority, long nanos) {
+		Map<Priority, Timer> timers = queueWaitTimers;
+		if (timers != null) timers.get(priority).record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+
+	private static TooManyRequestsException rejection() {
+		return new TooManyRequestsException("Client concurrency limit reached");
+	}
+
+
+	private static ScheduledThreadPoolExecutor newTimeoutExecutor() {
+		ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+				Thread.ofPlatform().name("client-limiter-timeout").daemon().factory());
+		// Most waiters are admitted before they time out
+		executor.setRemoveOnCancelPolicy(true);
+		return executor;
+	}
+
+
+	/**
+	 * Gets the number of requests in flight.
+	 */
+	public synchronized int getInFlight() {
+		return inFlight;
+	}
+
+
+	/**
+	 * Gets the number of requests waiting for a permit.
+	 */
+	public synchronized int getQueued() {
+		return queued;
+	}
+
+
+	/**
+	 * Gets the total number of rejected requests.
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+
+	/**
+	 * Registers gauges for the limit, requests in flight and queued requests,
+	 * a counter of rejected requests, and a timer of the time admitted requests
+	 * waited for a permit tagged with their priority, all tagged with given client name.
+	 *
+	 * Meters are only registered once per client name, so if more clients are
+	 * created with the same name, only the first one is reported.
+	 */
+	public void bindTo(MeterRegistry registry, String clientName) {
+		Gauge.builder("clanie.web.client.limit", this, limiter -> limiter.getLimit().getLimit())
+		.description("Adaptive concurrency limit of the client")
+		.tag("client", clientName)
+		.register(registry);
+		Gauge.builder("clanie.web.client.in.flight", this, ClientLimiter::getInFlight)
+		.tag("client", clientName)
+		.register(registry);
+		Gauge.builder("clanie.web.client.queued", this, ClientLimiter::getQueued)
+		.tag("client", clientName)
+		.register(registry);
+		FunctionCounter.builder("clanie.web.client.rejected", this, ClientLimiter::getRejected)
+		.description("Requests rejected by the concurrency limit of the client")
+		.tag("client", clientName)
+		.register(registry);
+		Map<Priority, Timer> timers = new EnumMap<>(Priority.class);
+		for (Priority priority : Priority.values()) {
+			timers.put(priority, Timer.builder("clanie.web.client.queue.wait")
+					.description("Time requests waited for a permit from the concurrency limit of the client")
+					.tag("client", clientName)
+					.tag("priority", priority.name().toLowerCase(Locale.ROOT))
+					.register(registry));
+		}
+		queueWaitTimers = timers;
+	}
+
+
+	/**
+	 * Admits queued requests while there is capacity for them.
+	 */
+	private void admitWaiters() {
+		while (true) {
+			Waiter next;
+			Permit permit;
+			long now = System.nanoTime();
+			synchronized (this) {
+				next = nextWaiter(now);
+				if (next == null) return;
+				queues.get(next.priority()).poll();
+				queued--;
+				inFlight++;
+				permit = new Permit();
+			}
+			// Hand over the permit, unless the waiter already gave up
+			if (next.future().complete(permit)) recordQueueWait(next.priority(), now - next.enqueuedNanos());
+			else permit.releaseIgnored();
+		}
+	}
+
+
+	/**
+	 * Gets the next waiter to admit, if any can be admitted - the one at the
+	 * head of a queue with the highest priority after aging, oldest first.
+	 * Waiters are taken from the head of their queues only.
+	 */
+	private @Nullable Waiter nextWaiter(long now) {
+		if (inFlight >= limit.getLimit()) return null;
+		boolean unreserved = inFlight < capacity(Priority.NORMAL);
+		Waiter next = null;
+		int nextRank = Integer.MAX_VALUE;
+		for (Priority priority : Priority.values()) {
+			Waiter head = queues.get(priority).peek();
+			if (head == null || (!unreserved && priority != Priority.HIGH)) continue;
+			int rank = head.rank(now, priorityAgingNanos);
+			if (rank < nextRank || (rank == nextRank && head.enqueuedNanos() - next.enqueuedNanos() < 0)) {
+				next = head;
+				nextRank = rank;
+			}
+		}
+		return next;
+	}
+
+
+	/**
+	 * Request waiting for a permit.
+	 */
+	private record Waiter(Priority priority, long enqueuedNanos, CompletableFuture<Permit> future) {
+
+		/**
+		 * Gets the rank of the waiter - its priority, raised by one for each
+		 * period of aging it has waited. Lower ranks are admitted first.
+		 */
+		int rank(long now, long agingNanos) {
+			int raised = agingNanos > 0 ? (int) Math.min((now - enqueuedNanos) / agingNanos, Priority.values().length) : 0;
+			return Math.max(0, priority.ordinal() - raised);
+		}
+
+	}
+
+
+	/**
+	 * Permission for a request to proceed.
+	 */
+	public final class Permit {
+
+		private final long startNanos = System.nanoTime();
+		private final AtomicBoolean released = new AtomicBoolean();
+
+
+		private Permit() {
+		}
+
+
+		/**
+		 * Releases the permit after a request completed normally.
+		 */
+		public void release() {
+			release(true, false);
+		}
+
+
+		/**
+		 * Releases the permit after a request failed due to overload.
+		 */
+		public void releaseDropped() {
+			release(true, true);
+		}
+
+
+		/**
+		 * Releases the permit without using the request to adjust the limit,
+		 * eg. when it was cancelled.
+		 */
+		public void releaseIgnored() {
+			release(false, false);
+		}
+
+
+		private void release(boolean sample, boolean dropped) {
+			if (!released.compareAndSet(false, true)) return;
+			int current;
+			synchronized (ClientLimiter.this) {
+				current = inFlight--;
+			}
+			if (sample) limit.onSample(startNanos, System.nanoTime() - startNanos, current, dropped);
+			admitWaiters();
+		}
+
+
+	}
+
+
+}
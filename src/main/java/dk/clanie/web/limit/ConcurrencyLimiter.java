@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Limits the number of requests in flight to an {@link AimdLimit}, rejecting
+ * requests beyond the limit.
+ */
+public class ConcurrencyLimiter {
+
+	@Getter
+	private final AimdLimit limit;
+	private final double lowPriorityShare;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+
+
+	/**
+	 * Creates a ConcurrencyLimiter.
+	 *
+	 * @param limit the limit.
+	 * @param lowPriorityShare share of the limit available to {@link Lane#LOW} requests.
+	 */
+	public ConcurrencyLimiter(AimdLimit limit, double lowPriorityShare) {
+		this.limit = limit;
+		this.lowPriorityShare = lowPriorityShare;
+	}
+
+
+	/**
+	 * Tries to admit a request.
+	 *
+	 * @param lane the priority lane of the request.
+	 * @return a permit which must be released when the request completes,
+	 *         or null if the request is rejected.
+	 */
+	public @Nullable Permit tryAcquire(Lane lane) {
+		if (lane == Lane.CRITICAL) return new Permit(false);
+		// At least one low priority request is admitted, also when the share of a small limit rounds down to zero
+		int max = lane == Lane.LOW ? Math.max(1, (int) (limit.getLimit() * lowPriorityShare)) : limit.getLimit();
+		while (true) {
+			int current = inFlight.get();
+			if (current >= max) {
+				rejected.increment();
+				return null;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) return new Permit(true);
+		}
+	}
+
+
+	/**
+	 * Gets the number of admitted requests in flight (not counting critical requests).
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+
+	/**
+	 * Gets the total number of rejected requests.
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+
+	/**
+	 * Permission for a request to proceed.
+	 */
+	public final class Permit {
+
+		private final boolean counted;
+		private final long startNanos = System.nanoTime();
+		private final AtomicBoolean released = new AtomicBoolean();
+
+
+		private Permit(boolean counted) {
+			this.counted = counted;
+		}
+
+
+		/**
+		 * Releases the permit after a request completed normally.
+		 */
+		public void release() {
+			release(false);
+		}
+
+
+		/**
+		 * Releases the permit after a request failed due to overload.
+		 */
+		public void releaseDropped() {
+			release(true);
+		}
+
+
+		private void release(boolean dropped) {
+			if (!counted || !released.compareAndSet(false, true)) return;
+			int current = inFlight.getAndDecrement();
+			limit.onSample(startNanos, System.nanoTime() - startNanos, current, dropped);
+		}
+
+
+	}
+
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import dk.clanie.web.limit.ConcurrencyLimiter.Permit;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+/**
+ * Servlet filter shedding inbound requests beyond an adaptive concurrency limit.
+ *
+ * Rejected requests get a 429 (TOO MANY REQUESTS) response with a Retry-After
+ * header. A 503 (SERVICE UNAVAILABLE) response from the application, or an
+ * exception propagating out of it, counts as a sign of overload - unless the
+ * exception resolves to a status below 500, like a NotFoundException.
+ *
+ * The permit is released when the request thread leaves the filter, so time
+ * spent in asynchronous processing is not counted.
+ *
+ * @see ReactiveInboundLimitFilter
+ */
+public class InboundLimitFilter extends OncePerRequestFilter implements Ordered {
+
+	public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+	@Getter
+	private final ConcurrencyLimiter limiter;
+	private final LaneResolver laneResolver;
+	private final String retryAfter;
+
+
+	public InboundLimitFilter(ConcurrencyLimiter limiter, LaneResolver laneResolver, Duration retryAfter) {
+		this.limiter = limiter;
+		this.laneResolver = laneResolver;
+		this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+	}
+
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		Permit permit = limiter.tryAcquire(laneResolver.resolve(path));
+		if (permit == null) {
+			response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+			return;
+		}
+		try {
+			filterChain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			// The status isn't set yet, so it is resolved from the exception
+			if (isOverload(e)) permit.releaseDropped();
+			else permit.release();
+			throw e;
+		}
+		if (response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()) permit.releaseDropped();
+		else permit.release();
+	}
+
+
+	/**
+	 * Checks if an exception propagating out of the application is a sign of
+	 * overload. It is, unless it resolves to a status below 500 - given by
+	 * {@link ErrorResponse}, like ResponseStatusException, or {@link ResponseStatus}.
+	 */
+	static boolean isOverload(Throwable e) {
+		@Nullable HttpStatusCode status = null;
+		if (e instanceof ErrorResponse errorResponse) {
+			status = errorResponse.getStatusCode();
+		} else {
+			ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+			if (responseStatus != null) status = responseStatus.code();
+		}
+		return status == null || status.is5xxServerError();
+	}
+
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+
+}
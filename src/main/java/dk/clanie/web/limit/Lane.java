@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+/**
+ * Priority lane of an inbound request.
+ */
+public enum Lane {
+
+	/**
+	 * Never shed, and not counted against the limit (eg. health checks).
+	 */
+	CRITICAL,
+
+	/**
+	 * Admitted while the number of requests in flight is below the limit.
+	 */
+	NORMAL,
+
+	/**
+	 * Admitted while the number of requests in flight is below a share of the
+	 * limit, so it is shed before normal requests.
+	 */
+	LOW
+
+}
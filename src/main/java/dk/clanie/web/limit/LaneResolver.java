@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.util.List;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Resolves the {@link Lane} of a request from its path.
+ *
+ * Paths are matched against {@link PathPattern}s, eg. {@code /actuator/health/**}.
+ */
+public class LaneResolver {
+
+	private final List<PathPattern> criticalPatterns;
+	private final List<PathPattern> lowPriorityPatterns;
+
+
+	/**
+	 * Creates a LaneResolver.
+	 *
+	 * @param criticalPaths patterns for paths in the {@link Lane#CRITICAL} lane.
+	 * @param lowPriorityPaths patterns for paths in the {@link Lane#LOW} lane.
+	 */
+	public LaneResolver(List<String> criticalPaths, List<String> lowPriorityPaths) {
+		this.criticalPatterns = parse(criticalPaths);
+		this.lowPriorityPatterns = parse(lowPriorityPaths);
+	}
+
+
+	private static List<PathPattern> parse(List<String> patterns) {
+		return patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+	}
+
+
+	/**
+	 * Resolves the lane of a request.
+	 *
+	 * @param path the path of the request, within the application.
+	 */
+	public Lane resolve(String path) {
+		if (criticalPatterns.isEmpty() && lowPriorityPatterns.isEmpty()) return Lane.NORMAL;
+		PathContainer pathContainer = PathContainer.parsePath(path);
+		if (matches(criticalPatterns, pathContainer)) return Lane.CRITICAL;
+		if (matches(lowPriorityPatterns, pathContainer)) return Lane.LOW;
+		return Lane.NORMAL;
+	}
+
+
+	private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+		for (PathPattern pattern : patterns) {
+			if (pattern.matches(path)) return true;
+		}
+		return false;
+	}
+
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.util.Locale;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Priority of an outbound request waiting for a permit from a {@link ClientLimiter}.
+ *
+ * Set with the request attribute {@link #ATTRIBUTE}:
+ *
+ * <pre>
+ * webClient.get().uri("/orders/{id}", id).attribute(Priority.ATTRIBUTE, Priority.HIGH)
+ * </pre>
+ *
+ * Requests without the attribute have {@link #NORMAL} priority.
+ */
+public enum Priority {
+
+	/**
+	 * Admitted before other requests, and may use the capacity reserved for high priority requests.
+	 */
+	HIGH,
+
+	/**
+	 * Admitted before low priority requests.
+	 */
+	NORMAL,
+
+	/**
+	 * Admitted when no higher priority requests are waiting, or when it has
+	 * waited long enough to be treated as a higher priority request.
+	 */
+	LOW;
+
+	/**
+	 * Name of the request attribute holding the priority - a Priority or its name.
+	 */
+	public static final String ATTRIBUTE = Priority.class.getName();
+
+
+	/**
+	 * Gets the priority given by the value of the request attribute.
+	 *
+	 * @param attribute a Priority, the name of one, or null.
+	 * @return the priority, or {@link #NORMAL} if the attribute is null.
+	 * @throws IllegalArgumentException if the attribute is not a priority.
+	 */
+	public static Priority of(@Nullable Object attribute) {
+		if (attribute == null) return NORMAL;
+		if (attribute instanceof Priority priority) return priority;
+		return valueOf(attribute.toString().toUpperCase(Locale.ROOT));
+	}
+
+
+}
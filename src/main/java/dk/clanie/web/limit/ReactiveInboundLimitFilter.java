@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import java.time.Duration;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import dk.clanie.web.limit.ConcurrencyLimiter.Permit;
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter shedding inbound requests beyond an adaptive concurrency limit.
+ *
+ * Rejected requests get a 429 (TOO MANY REQUESTS) response with a Retry-After
+ * header. A 503 (SERVICE UNAVAILABLE) response from the application, or an
+ * error propagating out of it, counts as a sign of overload - unless the
+ * error resolves to a status below 500. Errors are resolved to responses by
+ * the WebExceptionHandlers outside the filter chain, so this includes routine
+ * client errors like a ResponseStatusException(404) or a NotFoundException.
+ *
+ * @see InboundLimitFilter
+ */
+public class ReactiveInboundLimitFilter implements WebFilter, Ordered {
+
+	public static final int ORDER = InboundLimitFilter.ORDER;
+
+	@Getter
+	private final ConcurrencyLimiter limiter;
+	private final LaneResolver laneResolver;
+	private final String retryAfter;
+
+
+	public ReactiveInboundLimitFilter(ConcurrencyLimiter limiter, LaneResolver laneResolver, Duration retryAfter) {
+		this.limiter = limiter;
+		this.laneResolver = laneResolver;
+		this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+	}
+
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		String path = exchange.getRequest().getPath().pathWithinApplication().value();
+		Permit permit = limiter.tryAcquire(laneResolver.resolve(path));
+		ServerHttpResponse response = exchange.getResponse();
+		if (permit == null) {
+			response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+			return response.setComplete();
+		}
+		return chain.filter(exchange)
+				.doOnSuccess(_ -> {
+					if (HttpStatus.SERVICE_UNAVAILABLE.equals(response.getStatusCode())) permit.releaseDropped();
+					else permit.release();
+				})
+				// On error the status isn't set yet, so it is resolved from the error
+				.doOnError(e -> {
+					if (InboundLimitFilter.isOverload(e)) permit.releaseDropped();
+					else permit.release();
+				})
+				.doOnCancel(permit::release);
+	}
+
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.paging;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.StatusCodeExceptions;
+import dk.clanie.web.paging.Paging.Page;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Walks paged endpoints, fetching the next page while the elements of the
+ * current one are consumed.
+ *
+ * How the next page is found is given by a {@link Paging}. The number of
+ * pages fetched ahead is bounded by {@link Paging#getPrefetchPages() prefetchPages},
+ * so a slow consumer never causes more than that many pages to be buffered.
+ */
+public final class Pages {
+
+	private static final Pattern LINK_VALUE = Pattern.compile("<([^>]*)>\\s*((?:;\\s*[^;,]*)*)");
+	private static final Pattern REL = Pattern.compile(";\\s*rel\\s*=\\s*(?:\"([^\"]*)\"|([^;,\\s]*))", Pattern.CASE_INSENSITIVE);
+
+
+	private Pages() {
+	}
+
+
+	/**
+	 * Gets the elements of all pages as a Flux, decoded with a default {@link JsonMapper}.
+	 *
+	 * @see #flux(WebClient, URI, Class, Paging, ObjectMapper)
+	 */
+	public static <T> Flux<T> flux(WebClient client, URI firstPage, Class<T> elementType, Paging paging) {
+		return flux(client, firstPage, elementType, paging, JsonMapper.shared());
+	}
+
+
+	/**
+	 * Gets the elements of all pages as a Flux.
+	 *
+	 * The first page is requested on subscription. Pages are requested one at
+	 * a time, each when the previous one has been received, and no more than
+	 * {@link Paging#getPrefetchPages() prefetchPages} ahead of the page being consumed.
+	 * Cancelling the Flux cancels the page being fetched.
+	 *
+	 * <pre>
+	 * Flux&lt;Order&gt; orders = Pages.flux(webClient, URI.create("https://orders.example.com/orders"), Order.class, Paging.linkHeader());
+	 * </pre>
+	 *
+	 * Unsuccessful responses are mapped to the exceptions in {@code dk.clanie.web.exception}.
+	 *
+	 * @param client WebClient, typically from {@link dk.clanie.web.WebClientFactory WebClientFactory}.
+	 * @param firstPage URI of the first page - absolute, or relative to the base URL of the client.
+	 * @param elementType type of the elements.
+	 * @param paging how to find the next page.
+	 * @param objectMapper used to decode the elements.
+	 * @throws IllegalArgumentException if the prefetchPages of the paging is less than 1.
+	 */
+	public static <T> Flux<T> flux(WebClient client, URI firstPage, Class<T> elementType, Paging paging, ObjectMapper objectMapper) {
+		if (paging.getPrefetchPages() < 1) throw new IllegalArgumentException("prefetchPages must be at least 1, was " + paging.getPrefetchPages());
+		ObjectReader reader = objectMapper.readerForListOf(elementType);
+		return Pages.<T>fetch(client, firstPage, paging, reader)
+				.expand(page -> page.next() != null ? Pages.<T>fetch(client, page.next(), paging, reader) : Mono.empty())
+				// The next page is requested when a page is emitted, so the prefetch of emitted pages is one less
+				.concatMapIterable(Page::elements, paging.getPrefetchPages());
+	}
+
+
+	private static <T> Mono<Page<T>> fetch(WebClient client, URI uri, Paging paging, ObjectReader reader) {
+		return client.get().uri(uri)
+				.accept(APPLICATION_JSON)
+				.exchangeToMono(response -> {
+					HttpStatusCode statusCode = response.statusCode();
+					if (!statusCode.is2xxSuccessful()) {
+						return response.releaseBody()
+								.then(Mono.error(StatusCodeExceptions.toException(statusCode, response.headers().asHttpHeaders().getFirst(HttpHeaders.LOCATION))));
+					}
+					URI requestUri = response.request().getURI();
+					HttpHeaders headers = response.headers().asHttpHeaders();
+					return response.bodyToMono(JsonNode.class)
+							.map(body -> paging.<T>toPage(requestUri, headers, body, reader))
+							.switchIfEmpty(Mono.fromSupplier(() -> paging.toPage(requestUri, headers, null, reader)));
+				});
+	}
+
+
+	/**
+	 * Gets the elements of all pages as a Stream, decoded with a default {@link JsonMapper}.
+	 *
+	 * @see #stream(RestClient, URI, Class, Paging, ObjectMapper)
+	 */
+	public static <T> Stream<T> stream(RestClient client, URI firstPage, Class<T> elementType, Paging paging) {
+		return stream(client, firstPage, elementType, paging, JsonMapper.shared());
+	}
+
+
+	/**
+	 * Gets the elements of all pages as a lazy Stream.
+	 *
+	 * The first page is requested when the Stream is first consumed. While the
+	 * elements of a page are consumed the next page is fetched on a virtual
+	 * thread - one page ahead, regardless of {@link Paging#getPrefetchPages() prefetchPages}.
+	 * Closing the Stream interrupts the thread of a prefetch in progress:
+	 *
+	 * <pre>
+	 * try (Stream&lt;Order&gt; orders = Pages.stream(restClient, URI.create("/orders"), Order.class, Paging.linkHeader())) {
+	 *     orders.forEach(this::process);
+	 * }
+	 * </pre>
+	 *
+	 * Prefetched pages are fetched outside the calling thread, so they are not
+	 * recorded in an {@link dk.clanie.web.timing.OutboundTimings OutboundTimings}
+	 * bound to it.
+	 *
+	 * @param client RestClient, typically from {@link dk.clanie.web.RestClientFactory RestClientFactory}.
+	 * @param firstPage URI of the first page - absolute, or relative to the base URL of the client.
+	 * @param elementType type of the elements.
+	 * @param paging how to find the next page.
+	 * @param objectMapper used to decode the elements.
+	 */
+	public static <T> Stream<T> stream(RestClient client, URI firstPage, Class<T> elementType, Paging paging, ObjectMapper objectMapper) {
+		PageIterator<T> elements = new PageIterator<>(client, firstPage, paging, objectMapper, objectMapper.readerForListOf(elementType));
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+				.onClose(elements::close);
+	}
+
+
+	private static <T> Page<T> fetch(RestClient client, URI uri, Paging paging, ObjectMapper objectMapper, ObjectReader reader) {
+		return client.get().uri(uri)
+				.accept(APPLICATION_JSON)
+				.exchange((request, response) -> {
+					HttpStatusCode statusCode = response.getStatusCode();
+					if (!statusCode.is2xxSuccessful()) {
+						throw StatusCodeExceptions.toException(statusCode, response.getHeaders().getFirst(HttpHeaders.LOCATION));
+					}
+					try (InputStream body = response.getBody()) {
+						return paging.<T>toPage(request.getURI(), response.getHeaders(), objectMapper.readTree(body), reader);
+					}
+				});
+	}
+
+
+	/**
+	 * Finds the target of the link with relation type "next" in the value of a Link header.
+	 */
+	static @Nullable String findNextLink(String header) {
+		Matcher link = LINK_VALUE.matcher(header);
+		while (link.find()) {
+			Matcher rel = REL.matcher(link.group(2));
+			if (!rel.find()) continue;
+			// The relation type may be a space separated list, like "next last"
+			String relationTypes = rel.group(1) != null ? rel.group(1) : rel.group(2);
+			for (String relationType : relationTypes.trim().split("\\s+")) {
+				if ("next".equalsIgnoreCase(relationType)) return link.group(1).trim();
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Iterates over the elements of all pages, prefetching the next page.
+	 */
+	private static final class PageIterator<T> implements Iterator<T> {
+
+		private final RestClient client;
+		private final Paging paging;
+		private final ObjectMapper objectMapper;
+		private final ObjectReader reader;
+		private @Nullable URI next;
+		private @Nullable FutureTask<Page<T>> prefetched;
+		private Iterator<T> current = Collections.emptyIterator();
+
+
+		PageIterator(RestClient client, URI firstPage, Paging paging, ObjectMapper objectMapper, ObjectReader reader) {
+			this.client = client;
+			this.paging = paging;
+			this.objectMapper = objectMapper;
+			this.reader = reader;
+			this.next = firstPage;
+		}
+
+
+		@Override
+		public boolean hasNext() {
+			while (!current.hasNext()) {
+				if (prefetched == null && next == null) return false;
+				Page<T> page = prefetched != null ? join(prefetched) : Pages.<T>fetch(client, next, paging, objectMapper, reader);
+				prefetched = null;
+				next = null;
+				current = page.elements().iterator();
+				URI uri = page.next();
+				if (uri != null) {
+					// A FutureTask, as unlike a CompletableFuture it interrupts the fetch when cancelled
+					prefetched = new FutureTask<>(() -> Pages.<T>fetch(client, uri, paging, objectMapper, reader));
+					Thread.ofVirtual().start(prefetched);
+				}
+			}
+			return true;
+		}
+
+
+		@Override
+		public T next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			return current.next();
+		}
+
+
+		void close() {
+			next = null;
+			if (prefetched != null) prefetched.cancel(true);
+			prefetched = null;
+		}
+
+
+		private static <T> Page<T> join(FutureTask<Page<T>> page) {
+			try {
+				return page.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException cause) throw cause;
+				if (e.getCause() instanceof IOException cause) throw new UncheckedIOException(cause);
+				if (e.getCause() instanceof Error cause) throw cause;
+				throw new IllegalStateException(e.getCause());
+			} catch (CancellationException e) {
+				throw new IllegalStateException("Stream closed", e);
+			} catch (InterruptedException e) {
+				page.cancel(true);
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for page", e);
+			}
+		}
+
+
+	}
+
+
+}
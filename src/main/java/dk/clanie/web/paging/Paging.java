@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.paging;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import lombok.Builder;
+import lombok.Value;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * How a paged endpoint is walked by {@link Pages}.
+ *
+ * By default each page is a JSON array, and the next page is found in the
+ * Link header of the response (RFC 8288):
+ *
+ * <pre>
+ * Link: &lt;https://api.example.com/orders?page=2&gt;; rel="next"
+ * </pre>
+ *
+ * With a {@link #getCursorField() cursorField} each page is a JSON object
+ * with the elements in {@link #getItemsField() itemsField}, and the next page
+ * is requested with the value of the cursor field in the query parameter
+ * {@link #getCursorParam() cursorParam}:
+ *
+ * <pre>
+ * {"items": [...], "nextCursor": "b2Zmc2V0PTEwMA"}
+ * </pre>
+ *
+ * A page without the expected array fails with an IllegalStateException, and
+ * so does a Link to another origin than the page, unless
+ * {@link #isAllowCrossHostLinks() allowCrossHostLinks} - the next page is
+ * requested with the headers of the client, which may hold credentials.
+ */
+@Value
+@Builder(toBuilder = true)
+public class Paging {
+
+	private static final Paging LINK_HEADER = Paging.builder().build();
+
+
+	/**
+	 * Field holding the elements of a page. Null means the page is an array.
+	 */
+	@Nullable String itemsField;
+
+	/**
+	 * Field holding the cursor of the next page. Null means the next page is
+	 * found in the Link header. The last page has no cursor, or a null or empty one.
+	 */
+	@Nullable String cursorField;
+
+	/**
+	 * Query parameter in which the cursor is sent.
+	 */
+	@Builder.Default
+	String cursorParam = "cursor";
+
+	/**
+	 * Max. number of pages fetched ahead of the page being consumed by a
+	 * {@link Pages#flux Flux}. Must be at least 1.
+	 */
+	@Builder.Default
+	int prefetchPages = 1;
+
+	/**
+	 * Whether a Link header may point to another scheme, host or port than the page.
+	 */
+	boolean allowCrossHostLinks;
+
+
+	/**
+	 * Gets paging by Link header, with the default prefetch.
+	 */
+	public static Paging linkHeader() {
+		return LINK_HEADER;
+	}
+
+
+	/**
+	 * Gets paging by a cursor in the response body, with the default prefetch.
+	 *
+	 * @param itemsField field holding the elements of a page.
+	 * @param cursorField field holding the cursor of the next page.
+	 * @param cursorParam query parameter in which the cursor is sent.
+	 */
+	public static Paging cursor(String itemsField, String cursorField, String cursorParam) {
+		return Paging.builder().itemsField(itemsField).cursorField(cursorField).cursorParam(cursorParam).build();
+	}
+
+
+	/**
+	 * Reads a page.
+	 *
+	 * @param requestUri URI the page was requested with.
+	 * @param headers headers of the response.
+	 * @param body body of the response - null if it was empty.
+	 * @param reader reader for a list of elements.
+	 * @throws IllegalStateException if the elements are not an array, or the
+	 *         next link points to another host and that isn't allowed.
+	 */
+	<T> Page<T> toPage(URI requestUri, HttpHeaders headers, @Nullable JsonNode body, ObjectReader reader) {
+		if (body == null || body.isMissingNode() || body.isNull()) return new Page<>(List.of(), nextFromLink(requestUri, headers));
+		JsonNode items = itemsField != null ? body.path(itemsField) : body;
+		if (!items.isArray()) {
+			throw new IllegalStateException(itemsField != null
+					? "Field " + itemsField + " of page " + requestUri + " is not an array"
+					: "Page " + requestUri + " is not an array");
+		}
+		List<T> elements = reader.readValue(items);
+		URI next = cursorField != null ? nextFromCursor(requestUri, body) : nextFromLink(requestUri, headers);
+		return new Page<>(elements, next);
+	}
+
+
+	private @Nullable URI nextFromCursor(URI requestUri, JsonNode body) {
+		JsonNode cursor = body.path(cursorField);
+		if (!cursor.isValueNode() || cursor.isNull() || cursor.asString().isEmpty()) return null;
+		return UriComponentsBuilder.fromUri(requestUri)
+				.replaceQueryParam(cursorParam, UriUtils.encodeQueryParam(cursor.asString(), UTF_8))
+				.build(true)
+				.toUri();
+	}
+
+
+	private @Nullable URI nextFromLink(URI requestUri, HttpHeaders headers) {
+		for (String header : headers.getOrEmpty(HttpHeaders.LINK)) {
+			String link = Pages.findNextLink(header);
+			if (link == null) continue;
+			URI next = requestUri.resolve(link);
+			if (!allowCrossHostLinks && !sameHost(requestUri, next)) {
+				throw new IllegalStateException("Next link " + next + " of page " + requestUri + " is on another host");
+			}
+			return next;
+		}
+		return null;
+	}
+
+
+	private static boolean sameHost(URI uri, URI other) {
+		return Objects.equals(uri.getScheme(), other.getScheme())
+				&& uri.getHost() != null && uri.getHost().equalsIgnoreCase(other.getHost())
+				&& uri.getPort() == other.getPort();
+	}
+
+
+	/**
+	 * Page of elements, and the URI of the next page - null on the last page.
+	 */
+	record Page<T>(List<T> elements, @Nullable URI next) {
+	}
+
+
+}
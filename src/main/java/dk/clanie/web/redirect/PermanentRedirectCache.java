@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.redirect;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Bounded cache of permanent redirects, so requests for a URI which has been
+ * permanently redirected go straight to the target.
+ *
+ * A 308 (PERMANENT REDIRECT) applies to all methods. A 301 (MOVED PERMANENTLY)
+ * only applies to GET and HEAD, as other methods may be changed to GET when
+ * it is followed. When the cache is full, the least recently used redirect is evicted.
+ */
+public class PermanentRedirectCache {
+
+	private final int maxSize;
+	private final LinkedHashMap<URI, Target> redirects;
+
+
+	/**
+	 * Creates a PermanentRedirectCache.
+	 *
+	 * @param maxSize max. number of redirects remembered - zero means none.
+	 */
+	public PermanentRedirectCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.redirects = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<URI, Target> eldest) {
+				return size() > PermanentRedirectCache.this.maxSize;
+			}
+		};
+	}
+
+
+	/**
+	 * Remembers a redirect, if it is permanent.
+	 *
+	 * @param method method of the request.
+	 * @param from URI of the request.
+	 * @param to the target of the redirect.
+	 * @param statusCode status of the redirect response.
+	 */
+	public void put(HttpMethod method, URI from, URI to, HttpStatusCode statusCode) {
+		if (maxSize <= 0) return;
+		boolean allMethods = HttpStatus.PERMANENT_REDIRECT.equals(statusCode);
+		if (!allMethods && !(HttpStatus.MOVED_PERMANENTLY.equals(statusCode) && isSafe(method))) return;
+		synchronized (redirects) {
+			redirects.put(from, new Target(to, allMethods));
+		}
+	}
+
+
+	/**
+	 * Gets the URI a request should be sent to, following remembered redirects.
+	 *
+	 * @param method method of the request.
+	 * @param uri URI of the request.
+	 * @param maxRedirects max. number of remembered redirects to follow.
+	 * @return the target - the given URI if it isn't redirected - and the
+	 *         number of remembered redirects followed to get there.
+	 */
+	public Resolution resolve(HttpMethod method, URI uri, int maxRedirects) {
+		URI resolved = uri;
+		int redirects = 0;
+		while (redirects < maxRedirects) {
+			Target target = get(resolved);
+			if (target == null || !(target.allMethods() || isSafe(method))) break;
+			resolved = target.uri();
+			redirects++;
+		}
+		return new Resolution(resolved, redirects);
+	}
+
+
+	private @Nullable Target get(URI uri) {
+		if (maxSize <= 0) return null;
+		synchronized (redirects) {
+			return redirects.get(uri);
+		}
+	}
+
+
+	/**
+	 * Gets the number of redirects remembered.
+	 */
+	public int size() {
+		synchronized (redirects) {
+			return redirects.size();
+		}
+	}
+
+
+	private static boolean isSafe(HttpMethod method) {
+		return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+	}
+
+
+	private record Target(URI uri, boolean allMethods) {
+	}
+
+
+	/**
+	 * Target of a request, and the number of remembered redirects followed to it.
+	 */
+	public record Resolution(URI uri, int redirects) {
+	}
+
+
+}
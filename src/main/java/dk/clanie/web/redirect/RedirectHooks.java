@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.redirect;
+
+import java.net.URI;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import dk.clanie.web.redirect.PermanentRedirectCache.Resolution;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hooks installed by the client factories to follow redirects according to a
+ * {@link RedirectPolicy}, remembering permanent redirects in a {@link PermanentRedirectCache}.
+ *
+ * 303 (SEE OTHER) is followed with a GET without a body, and so are 301 and
+ * 302 for requests other than GET and HEAD, like browsers do. 307 and 308
+ * are followed with the same method and body. With a WebClient the body is
+ * written again, so it must be one that can be, eg. a value rather than a Flux.
+ *
+ * Remembered redirects count against the max. number of redirects, just like
+ * the ones followed from responses.
+ */
+public final class RedirectHooks {
+
+
+	private RedirectHooks() {
+	}
+
+
+	/**
+	 * Gets a filter following redirects of the calls made with a WebClient.
+	 *
+	 * The filter must be inside the filter mapping unsuccessful responses to
+	 * exceptions, which then gets the final response. Filters outside this one
+	 * see the original request and the final response, while filters inside
+	 * it see each hop as a request of its own.
+	 */
+	public static ExchangeFilterFunction exchangeFilter(RedirectPolicy policy, PermanentRedirectCache cache) {
+		return (request, next) -> {
+			Resolution target = cache.resolve(request.method(), request.url(), policy.getMaxRedirects());
+			ClientRequest first = target.redirects() == 0 ? request : redirect(request, request.method(), target.uri());
+			return follow(first, next, policy, cache, target.redirects());
+		};
+	}
+
+
+	private static Mono<ClientResponse> follow(ClientRequest request, ExchangeFunction next, RedirectPolicy policy, PermanentRedirectCache cache, int redirects) {
+		return next.exchange(request).flatMap(response -> {
+			HttpStatusCode statusCode = response.statusCode();
+			if (!isRedirect(statusCode) || redirects >= policy.getMaxRedirects()) return Mono.just(response);
+			URI location = location(request.url(), response.headers().asHttpHeaders());
+			if (location == null || !policy.allows(request.url(), location)) return Mono.just(response);
+			cache.put(request.method(), request.url(), location, statusCode);
+			ClientRequest redirected = redirect(request, redirectMethod(request.method(), statusCode), location);
+			return response.releaseBody().then(follow(redirected, next, policy, cache, redirects + 1));
+		});
+	}
+
+
+	private static ClientRequest redirect(ClientRequest request, HttpMethod method, URI location) {
+		boolean bodyDropped = !method.equals(request.method());
+		ClientRequest.Builder builder = ClientRequest.from(request)
+				.method(method)
+				.url(location)
+				.headers(headers -> removeHeaders(headers, request.url(), location, bodyDropped));
+		if (bodyDropped) builder.body(BodyInserters.empty());
+		return builder.build();
+	}
+
+
+	/**
+	 * Gets an interceptor following redirects of the calls made with a RestClient.
+	 *
+	 * Each hop is executed with the rest of the interceptor chain, so
+	 * interceptors after this one see each hop as a request of its own, while
+	 * interceptors before it see the original request and the final response.
+	 */
+	public static ClientHttpRequestInterceptor requestInterceptor(RedirectPolicy policy, PermanentRedirectCache cache) {
+		return (request, body, execution) -> {
+			Resolution target = cache.resolve(request.getMethod(), request.getURI(), policy.getMaxRedirects());
+			HttpRequest current = target.redirects() == 0 ? request : new RedirectedRequest(request, request.getMethod(), target.uri());
+			byte[] currentBody = body;
+			ClientHttpResponse response = execution.execute(current, currentBody);
+			for (int redirects = target.redirects(); redirects < policy.getMaxRedirects(); redirects++) {
+				HttpStatusCode statusCode = response.getStatusCode();
+				if (!isRedirect(statusCode)) break;
+				URI location = location(current.getURI(), response.getHeaders());
+				if (location == null || !policy.allows(current.getURI(), location)) break;
+				cache.put(current.getMethod(), current.getURI(), location, statusCode);
+				response.close();
+				HttpMethod method = redirectMethod(current.getMethod(), statusCode);
+				if (!method.equals(current.getMethod())) currentBody = new byte[0];
+				current = new RedirectedRequest(current, method, location);
+				response = execution.execute(current, currentBody);
+			}
+			return response;
+		};
+	}
+
+
+	static boolean isRedirect(HttpStatusCode statusCode) {
+		return HttpStatus.MOVED_PERMANENTLY.equals(statusCode)
+				|| HttpStatus.FOUND.equals(statusCode)
+				|| HttpStatus.SEE_OTHER.equals(statusCode)
+				|| HttpStatus.TEMPORARY_REDIRECT.equals(statusCode)
+				|| HttpStatus.PERMANENT_REDIRECT.equals(statusCode);
+	}
+
+
+	/**
+	 * Gets the method with which a redirect is followed.
+	 */
+	static HttpMethod redirectMethod(HttpMethod method, HttpStatusCode statusCode) {
+		if (HttpStatus.SEE_OTHER.equals(statusCode) && !HttpMethod.HEAD.equals(method)) return HttpMethod.GET;
+		if ((HttpStatus.MOVED_PERMANENTLY.equals(statusCode) || HttpStatus.FOUND.equals(statusCode))
+				&& !HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) return HttpMethod.GET;
+		return method;
+	}
+
+
+	private static @Nullable URI location(URI requestUri, HttpHeaders headers) {
+		String location = headers.getFirst(HttpHeaders.LOCATION);
+		if (location == null) return null;
+		try {
+			return requestUri.resolve(location);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+
+	/**
+	 * Removes the body headers when the body is dropped, and the credentials
+	 * when redirected to another host.
+	 */
+	private static void removeHeaders(HttpHeaders headers, URI from, URI to, boolean bodyDropped) {
+		if (bodyDropped) {
+			headers.remove(HttpHeaders.CONTENT_TYPE);
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+		}
+		if (!RedirectPolicy.isSameHost(from, to)) {
+			headers.remove(HttpHeaders.AUTHORIZATION);
+			headers.remove(HttpHeaders.COOKIE);
+		}
+	}
+
+
+	/**
+	 * Request redirected to another URI, possibly with another method.
+	 */
+	private static final class RedirectedRequest extends HttpRequestWrapper {
+
+		private final HttpMethod method;
+		private final URI uri;
+		private final HttpHeaders headers = new HttpHeaders();
+
+
+		RedirectedRequest(HttpRequest request, HttpMethod method, URI uri) {
+			super(request);
+			this.method = method;
+			this.uri = uri;
+			headers.putAll(request.getHeaders());
+			removeHeaders(headers, request.getURI(), uri, !method.equals(request.getMethod()));
+		}
+
+
+		@Override
+		public HttpMethod getMethod() {
+			return method;
+		}
+
+
+		@Override
+		public URI getURI() {
+			return uri;
+		}
+
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+
+	}
+
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.redirect;
+
+import java.net.URI;
+import java.util.Set;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * Policy for following redirects in the clients from
+ * {@link dk.clanie.web.WebClientFactory WebClientFactory} and
+ * {@link dk.clanie.web.RestClientFactory RestClientFactory}.
+ *
+ * Redirects the policy doesn't allow are not followed, so the caller gets the
+ * redirect response - mapped to a {@link dk.clanie.web.exception.FoundException FoundException}
+ * for 302 - like when there is no policy.
+ *
+ * @see RedirectHooks
+ */
+@Value
+@Builder(toBuilder = true)
+public class RedirectPolicy {
+
+	private static final RedirectPolicy DEFAULTS = RedirectPolicy.builder().build();
+
+
+	/**
+	 * Max. number of redirects followed for one request.
+	 */
+	@Builder.Default
+	int maxRedirects = 5;
+
+	/**
+	 * Follow redirects to any host. When false only redirects to the same host,
+	 * or to one of the {@link #getAllowedHosts() allowedHosts}, are followed.
+	 */
+	boolean allowCrossHost;
+
+	/**
+	 * Other hosts to which redirects are followed.
+	 */
+	@Singular
+	Set<String> allowedHosts;
+
+	/**
+	 * Max. number of permanent redirects (301 and 308) remembered by a client.
+	 * Zero means permanent redirects are not remembered.
+	 */
+	@Builder.Default
+	int permanentRedirectCacheSize = 1000;
+
+
+	/**
+	 * Gets the default policy: up to 5 redirects, to the same host only.
+	 */
+	public static RedirectPolicy defaults() {
+		return DEFAULTS;
+	}
+
+
+	/**
+	 * Checks if a redirect may be followed.
+	 *
+	 * Redirects from https to http are never followed, and the Authorization
+	 * and Cookie headers are not sent to another host.
+	 *
+	 * @param from URI of the request.
+	 * @param to the target of the redirect.
+	 */
+	public boolean allows(URI from, URI to) {
+		String scheme = to.getScheme();
+		if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) return false;
+		if ("https".equalsIgnoreCase(from.getScheme()) && !"https".equalsIgnoreCase(scheme)) return false;
+		if (to.getHost() == null) return false;
+		if (isSameHost(from, to) || allowCrossHost) return true;
+		return allowedHosts.stream().anyMatch(host -> host.equalsIgnoreCase(to.getHost()));
+	}
+
+
+	static boolean isSameHost(URI from, URI to) {
+		return to.getHost() != null && to.getHost().equalsIgnoreCase(from.getHost());
+	}
+
+
+}
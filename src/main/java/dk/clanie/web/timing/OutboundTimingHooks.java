@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.timing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import dk.clanie.web.timing.OutboundTimings.Phase;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.context.ContextView;
+
+/**
+ * Hooks installed by the client factories to record outbound calls in the
+ * current {@link OutboundTimings}, for clients with Server-Timing enabled.
+ *
+ * When there is no current OutboundTimings the hooks only cost a lookup.
+ */
+public final class OutboundTimingHooks {
+
+	private static final String CALL_CONTEXT_KEY = OutboundCall.class.getName();
+
+
+	private OutboundTimingHooks() {
+	}
+
+
+	/**
+	 * Gets the name used for a client in the Server-Timing header: the host
+	 * part of its base URL, with characters not allowed in a metric name
+	 * replaced by underscores.
+	 */
+	public static String clientName(String baseUrl) {
+		@Nullable String host = null;
+		try {
+			host = URI.create(baseUrl).getHost();
+		} catch (IllegalArgumentException e) {
+			// Fall through to default name
+		}
+		return host == null ? "client" : metricName(host);
+	}
+
+
+	/**
+	 * Gets given name with characters not allowed in a Server-Timing metric
+	 * name replaced by underscores. Only letters, digits, '_' and '-' are
+	 * kept, which is a subset of the token characters of RFC 7230.
+	 */
+	public static String metricName(String name) {
+		return name.isEmpty() ? "client" : name.replaceAll("[^A-Za-z0-9_-]", "_");
+	}
+
+
+	/**
+	 * Adds hooks to given HttpClient timing the phases of calls started by
+	 * {@link #exchangeFilter(String)}.
+	 */
+	public static HttpClient install(HttpClient httpClient) {
+		return httpClient
+				.doOnRequest((request, _) -> {
+					OutboundCall call = currentCall(request.currentContextView());
+					if (call != null) call.requestSent();
+				})
+				.doOnResponse((response, _) -> {
+					OutboundCall call = currentCall(response.currentContextView());
+					if (call != null) call.responseReceived();
+				})
+				.doAfterResponseSuccess((response, _) -> {
+					OutboundCall call = currentCall(response.currentContextView());
+					if (call != null) call.bodyReceived();
+				});
+	}
+
+
+	private static @Nullable OutboundCall currentCall(ContextView context) {
+		return context.getOrDefault(CALL_CONTEXT_KEY, null);
+	}
+
+
+	/**
+	 * Gets a filter starting the timing of each call made with a WebClient,
+	 * if there is an {@link OutboundTimings} in the Reactor context, or else
+	 * bound to the thread making the call - as in a Spring MVC controller.
+	 * The HttpClient of the WebClient must have the hooks from {@link #install(HttpClient)}.
+	 */
+	public static ExchangeFilterFunction exchangeFilter(String clientName) {
+		return (request, next) -> {
+			// Captured here, as the exchange may run on another thread
+			OutboundTimings bound = OutboundTimings.current();
+			return Mono.deferContextual(context -> {
+				OutboundTimings timings = context.getOrDefault(OutboundTimings.CONTEXT_KEY, bound);
+				if (timings == null) return next.exchange(request);
+				OutboundCall call = new OutboundCall(timings, clientName);
+				return next.exchange(request).contextWrite(c -> c.put(CALL_CONTEXT_KEY, call));
+			});
+		};
+	}
+
+
+	/**
+	 * Gets an interceptor timing each call made with a RestClient, if there is
+	 * an {@link OutboundTimings} bound to the current thread.
+	 *
+	 * The JDK and Apache clients used by RestClient don't report when the
+	 * connection is obtained, so connect time is part of time to first byte.
+	 */
+	public static ClientHttpRequestInterceptor requestInterceptor(String clientName) {
+		return (request, body, execution) -> {
+			OutboundTimings timings = OutboundTimings.current();
+			if (timings == null) return execution.execute(request, body);
+			OutboundCall call = new OutboundCall(timings, clientName);
+			ClientHttpResponse response = execution.execute(request, body);
+			call.responseReceived();
+			return new TimedResponse(response, call);
+		};
+	}
+
+
+	/**
+	 * Timing state of one outbound call.
+	 */
+	private static final class OutboundCall {
+
+		private final OutboundTimings timings;
+		private final String client;
+		private long lastNanos = System.nanoTime();
+
+
+		OutboundCall(OutboundTimings timings, String client) {
+			this.timings = timings;
+			this.client = client;
+			timings.callStarted(client);
+		}
+
+
+		void requestSent() {
+			lap(Phase.CONNECT);
+		}
+
+
+		void responseReceived() {
+			lap(Phase.TTFB);
+		}
+
+
+		void bodyReceived() {
+			lap(Phase.BODY);
+		}
+
+
+		private void lap(Phase phase) {
+			long now = System.nanoTime();
+			timings.record(client, phase, now - lastNanos);
+			lastNanos = now;
+		}
+
+
+	}
+
+
+	/**
+	 * Response recording the body phase when closed.
+	 */
+	private static final class TimedResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse delegate;
+		private final OutboundCall call;
+		private boolean closed;
+
+
+		TimedResponse(ClientHttpResponse delegate, OutboundCall call) {
+			this.delegate = delegate;
+			this.call = call;
+		}
+
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return delegate.getStatusCode();
+		}
+
+
+		@Override
+		public String getStatusText() throws IOException {
+			return delegate.getStatusText();
+		}
+
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return delegate.getHeaders();
+		}
+
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return delegate.getBody();
+		}
+
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				call.bodyReceived();
+			}
+			delegate.close();
+		}
+
+
+	}
+
+
+}
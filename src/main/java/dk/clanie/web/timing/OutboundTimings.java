@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Time spent in outbound calls during one inbound request, per client and phase.
+ *
+ * Clients from {@link dk.clanie.web.WebClientFactory WebClientFactory} and
+ * {@link dk.clanie.web.RestClientFactory RestClientFactory} record their calls
+ * in the current OutboundTimings, if any. For WebClient it is found in the
+ * Reactor context under {@link #CONTEXT_KEY}; for RestClient it is bound to the
+ * current thread with {@link #bind(OutboundTimings)}. The server timing filters
+ * take care of both.
+ *
+ * Durations are summed per client, so a request making many calls to the same
+ * downstream only allocates one small array for it.
+ */
+public class OutboundTimings {
+
+	public static final String CONTEXT_KEY = OutboundTimings.class.getName();
+
+	private static final ThreadLocal<OutboundTimings> CURRENT = new ThreadLocal<>();
+
+	private static final Phase[] PHASES = Phase.values();
+	private static final int CALLS = PHASES.length;
+
+	/**
+	 * Phases of an outbound call.
+	 */
+	public enum Phase {
+
+		/**
+		 * Obtaining a connection - DNS lookup, TCP connect and TLS handshake for
+		 * new connections, otherwise waiting for a pooled one.
+		 * Not measured for RestClient, where it is part of {@link #TTFB}.
+		 */
+		CONNECT("connect"),
+
+		/**
+		 * From sending the request until the response headers are received.
+		 */
+		TTFB("ttfb"),
+
+		/**
+		 * Reading the response body.
+		 */
+		BODY("body");
+
+		private final String metricSuffix;
+
+		Phase(String metricSuffix) {
+			this.metricSuffix = metricSuffix;
+		}
+
+	}
+
+	private final Map<String, long[]> clients = new LinkedHashMap<>(4);
+
+
+	/**
+	 * Gets the OutboundTimings bound to the current thread, if any.
+	 */
+	public static @Nullable OutboundTimings current() {
+		return CURRENT.get();
+	}
+
+
+	/**
+	 * Binds given OutboundTimings to the current thread.
+	 */
+	public static void bind(OutboundTimings timings) {
+		CURRENT.set(timings);
+	}
+
+
+	/**
+	 * Removes the OutboundTimings bound to the current thread, if any.
+	 */
+	public static void unbind() {
+		CURRENT.remove();
+	}
+
+
+	/**
+	 * Counts a call to given client.
+	 */
+	public synchronized void callStarted(String client) {
+		totals(client)[CALLS]++;
+	}
+
+
+	/**
+	 * Adds time spent in a phase of a call to given client.
+	 */
+	public synchronized void record(String client, Phase phase, long nanos) {
+		totals(client)[phase.ordinal()] += nanos;
+	}
+
+
+	private long[] totals(String client) {
+		return clients.computeIfAbsent(client, _ -> new long[CALLS + 1]);
+	}
+
+
+	/**
+	 * Gets the number of calls made to given client.
+	 */
+	public synchronized long getCalls(String client) {
+		long[] totals = clients.get(client);
+		return totals == null ? 0 : totals[CALLS];
+	}
+
+
+	/**
+	 * Gets the total time spent in given phase of calls to given client.
+	 */
+	public synchronized long getNanos(String client, Phase phase) {
+		long[] totals = clients.get(client);
+		return totals == null ? 0 : totals[phase.ordinal()];
+	}
+
+
+	/**
+	 * Formats the timings as the value of a Server-Timing header, with a metric
+	 * named {@code <client>-<phase>} for each phase, eg.
+	 * {@code orders-connect;dur=1.2, orders-ttfb;dur=35.0;desc="3 calls", orders-body;dur=0.4}.
+	 *
+	 * @return the header value, or null if no calls were made.
+	 */
+	public synchronized @Nullable String toServerTimingHeader() {
+		if (clients.isEmpty()) return null;
+		StringBuilder sb = new StringBuilder(64 * clients.size());
+		clients.forEach((client, totals) -> {
+			for (Phase phase : PHASES) {
+				if (sb.length() > 0) sb.append(", ");
+				sb.append(client).append('-').append(phase.metricSuffix)
+				.append(";dur=").append(String.format(Locale.ROOT, "%.1f", totals[phase.ordinal()] / 1_000_000.0));
+				if (phase == Phase.TTFB && totals[CALLS] > 1) sb.append(";desc=\"").append(totals[CALLS]).append(" calls\"");
+			}
+		});
+		return sb.toString();
+	}
+
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.timing;
+
+import static dk.clanie.web.timing.ServerTimingFilter.SERVER_TIMING;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux filter collecting {@link OutboundTimings} for each request and
+ * reporting them in a Server-Timing response header.
+ *
+ * The OutboundTimings is put in the Reactor context, so calls made with
+ * WebClients from {@link dk.clanie.web.WebClientFactory WebClientFactory}
+ * within the request are recorded. The header is added just before the
+ * response is committed.
+ *
+ * @see ServerTimingFilter
+ */
+public class ReactiveServerTimingFilter implements WebFilter, Ordered {
+
+	public static final int ORDER = ServerTimingFilter.ORDER;
+
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		OutboundTimings timings = new OutboundTimings();
+		exchange.getResponse().beforeCommit(() -> {
+			String value = timings.toServerTimingHeader();
+			if (value != null) exchange.getResponse().getHeaders().add(SERVER_TIMING, value);
+			return Mono.empty();
+		});
+		return chain.filter(exchange)
+				.contextWrite(context -> context.put(OutboundTimings.CONTEXT_KEY, timings));
+	}
+
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.timing;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Servlet filter collecting {@link OutboundTimings} for each request and
+ * reporting them in a Server-Timing response header.
+ *
+ * The OutboundTimings is bound to the request thread, so only calls made on
+ * that thread are recorded. The header is added when the application starts
+ * writing the response body.
+ *
+ * @see ReactiveServerTimingFilter
+ */
+public class ServerTimingFilter extends OncePerRequestFilter implements Ordered {
+
+	public static final String SERVER_TIMING = "Server-Timing";
+	public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 30;
+
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		OutboundTimings timings = new OutboundTimings();
+		ServerTimingResponseWrapper wrapper = new ServerTimingResponseWrapper(response, timings);
+		OutboundTimings.bind(timings);
+		try {
+			filterChain.doFilter(request, wrapper);
+		} finally {
+			OutboundTimings.unbind();
+			wrapper.addServerTimingHeader();
+		}
+	}
+
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+
+	private static final class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+		private final OutboundTimings timings;
+		private boolean headerAdded;
+
+
+		ServerTimingResponseWrapper(HttpServletResponse response, OutboundTimings timings) {
+			super(response);
+			this.timings = timings;
+		}
+
+
+		void addServerTimingHeader() {
+			if (headerAdded || isCommitted()) return;
+			headerAdded = true;
+			String value = timings.toServerTimingHeader();
+			if (value != null) addHeader(SERVER_TIMING, value);
+		}
+
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			addServerTimingHeader();
+			return super.getOutputStream();
+		}
+
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			addServerTimingHeader();
+			return super.getWriter();
+		}
+
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			addServerTimingHeader();
+			super.sendError(sc, msg);
+		}
+
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			addServerTimingHeader();
+			super.sendError(sc);
+		}
+
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			addServerTimingHeader();
+			super.sendRedirect(location);
+		}
+
+
+	}
+
+
+}
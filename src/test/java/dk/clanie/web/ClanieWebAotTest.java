@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.aot.test.generate.TestGenerationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.test.tools.TestCompiler;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tests AOT processing of {@link ClanieWebAutoConfiguration}, as done when
+ * building a native image, and compares startup of the AOT generated context
+ * with a regular one.
+ */
+@Slf4j
+public class ClanieWebAotTest {
+
+
+	@Test
+	void testAotProcessing() {
+		TestGenerationContext generationContext = new TestGenerationContext();
+		new ApplicationContextAotGenerator().processAheadOfTime(newContext(), generationContext);
+		generationContext.writeGeneratedContent();
+
+		ClanieWebRuntimeHints.EXCEPTIONS.forEach(type ->
+		assertThat(RuntimeHintsPredicates.reflection().onType(type)).accepts(generationContext.getRuntimeHints()));
+		assertThat(RuntimeHintsPredicates.reflection().onType(ClanieWebProperties.Client.class)).accepts(generationContext.getRuntimeHints());
+
+		TestCompiler.forSystem().with(generationContext).compile(compiled -> {
+			long start = System.nanoTime();
+			try (GenericApplicationContext aotContext = new GenericApplicationContext()) {
+				@SuppressWarnings("unchecked")
+				ApplicationContextInitializer<GenericApplicationContext> initializer = compiled.getInstance(ApplicationContextInitializer.class);
+				initializer.initialize(aotContext);
+				aotContext.refresh();
+				Duration aotStartup = Duration.ofNanos(System.nanoTime() - start);
+
+				assertThat(aotContext.getBean(GlobalExceptionHandler.class)).isNotNull();
+				assertThat(aotContext.getBean(NamedClients.class)).isNotNull();
+				assertThat(aotContext.getBean(ClanieWebProperties.class).getEtag().isEnabled()).isFalse();
+
+				log.info("Context startup: {} ms regular, {} ms with AOT", regularStartup().toMillis(), aotStartup.toMillis());
+			}
+		});
+	}
+
+
+	private static GenericApplicationContext newContext() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.register(ClanieWebAutoConfiguration.class);
+		return context;
+	}
+
+
+	private static Duration regularStartup() {
+		long start = System.nanoTime();
+		try (GenericApplicationContext context = newContext()) {
+			context.refresh();
+			return Duration.ofNanos(System.nanoTime() - start);
+		}
+	}
+
+
+}
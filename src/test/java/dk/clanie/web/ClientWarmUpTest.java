@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import ch.qos.logback.classic.Level;
+import dk.clanie.test.logging.CapturedLoggingEvents;
+import dk.clanie.test.logging.LogCapturer;
+import dk.clanie.web.ClanieWebProperties.Client;
+import dk.clanie.web.limit.ClientLimit;
+import dk.clanie.web.redirect.RedirectPolicy;
+import dk.clanie.web.test.Latency;
+import dk.clanie.web.test.StubResponse;
+import dk.clanie.web.test.StubServer;
+
+/**
+ * Unit tests for {@link NamedClients} and {@link ClientWarmUp}.
+ */
+public class ClientWarmUpTest {
+
+	private StubServer server;
+	private Map<String, Client> clients;
+
+
+	@BeforeEach
+	void setUp() {
+		server = StubServer.start();
+		server.stub("/warm-up", StubResponse.builder().latency(Latency.fixed(Duration.ofMillis(100))).build());
+		clients = new LinkedHashMap<>();
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.close();
+	}
+
+
+	private Client client(Client.Type type, int connections, @Nullable String path) {
+		Client client = new Client();
+		client.setType(type);
+		client.setBaseUrl(server.getBaseUrl());
+		client.getWarmUp().setConnections(connections);
+		client.getWarmUp().setPath(path);
+		return client;
+	}
+
+
+	private NamedClients namedClients() {
+		return new NamedClients(clients,
+				() -> new WebClientFactory(WebClient.builder()),
+				() -> new RestClientFactory(RestClient.builder()));
+	}
+
+
+	@Test
+	void testWarmUpOpensConcurrentConnections() {
+		clients.put("web", client(Client.Type.WEB, 3, "/warm-up"));
+		clients.put("rest", client(Client.Type.REST, 2, "/warm-up"));
+
+		new ClientWarmUp(clients, namedClients()).warmUp();
+
+		assertThat(server.getRequestCount("/warm-up")).isEqualTo(5);
+		assertThat(server.getMaxInFlight()).isEqualTo(5);
+	}
+
+
+	@Test
+	void testWarmUpWithoutPathFails() {
+		clients.put("web", client(Client.Type.WEB, 3, null));
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, this::namedClients);
+
+		assertThat(e.getMessage()).contains("warm-up.path").contains("web");
+	}
+
+
+	@Test
+	void testErrorResponsesAreIgnored() {
+		clients.put("web", client(Client.Type.WEB, 2, "/status/404"));
+
+		new ClientWarmUp(clients, namedClients()).warmUp();
+
+		assertThat(server.getRequestCount("/status/404")).isEqualTo(2);
+	}
+
+
+	@Test
+	void testWarmUpTimesOut() {
+		server.stub("/stalled", StubResponse.builder().latency(Latency.fixed(Duration.ofSeconds(5))).build());
+		Client client = client(Client.Type.WEB, 1, "/stalled");
+		client.getWarmUp().setTimeout(Duration.ofMillis(50));
+		clients.put("web", client);
+		ClientWarmUp clientWarmUp = new ClientWarmUp(clients, namedClients());
+
+		long start = System.nanoTime();
+		CapturedLoggingEvents captured = LogCapturer.capture(ClientWarmUp.class, clientWarmUp::warmUp);
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+		assertThat(captured.getEvents())
+		.anyMatch(event -> event.getLevel() == Level.WARN
+		&& event.getFormattedMessage().contains("did not complete within"));
+	}
+
+
+	@Test
+	void testClientOptions() {
+		Client client = client(Client.Type.WEB, 0, null);
+		client.setServerTiming(true);
+		client.getConcurrencyLimit().setEnabled(true);
+		client.getConcurrencyLimit().setMaxLimit(50);
+		client.getConcurrencyLimit().setHighPriorityReserve(0.2);
+		client.getRedirects().setEnabled(true);
+		client.getRedirects().setAllowedHosts(Set.of("cdn.example.com"));
+
+		ClientOptions options = client.toOptions("orders");
+
+		assertThat(options.getName()).isEqualTo("orders");
+		assertThat(options.isServerTiming()).isTrue();
+		assertThat(options.getConcurrencyLimit())
+		.isEqualTo(ClientLimit.builder().maxLimit(50).highPriorityReserve(0.2).build());
+		assertThat(options.getRedirectPolicy())
+		.isEqualTo(RedirectPolicy.builder().allowedHost("cdn.example.com").build());
+		assertThat(client(Client.Type.WEB, 0, null).toOptions("orders").getConcurrencyLimit()).isNull();
+	}
+
+
+	@Test
+	void testNamedClients() {
+		clients.put("web", client(Client.Type.WEB, 0, "/"));
+		clients.put("rest", client(Client.Type.REST, 0, "/"));
+
+		NamedClients namedClients = namedClients();
+
+		assertThat(namedClients.getWebClient("web").get().uri("/status/200").retrieve().bodyToMono(String.class).block())
+		.isEqualTo("hello");
+		assertThat(namedClients.getRestClient("rest").get().uri("/status/200").retrieve().body(String.class))
+		.isEqualTo("hello");
+		assertThat(namedClients.getWebClientNames()).containsExactly("web");
+		assertThrows(IllegalArgumentException.class, () -> namedClients.getRestClient("web"));
+		assertThat(server.getRequestCount()).isEqualTo(2);
+	}
+
+
+}
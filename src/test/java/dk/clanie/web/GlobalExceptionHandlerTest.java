@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import dk.clanie.web.exception.ClientErrorException;
+import dk.clanie.web.exception.ClientErrorStackTraces;
+import dk.clanie.web.exception.FoundException;
+import dk.clanie.web.exception.InternalServerErrorException;
+import dk.clanie.web.exception.NotFoundException;
+import dk.clanie.web.exception.TooManyRequestsException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link GlobalExceptionHandler} and {@link ReactiveExceptionHandler}.
+ */
+public class GlobalExceptionHandlerTest {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+
+	@Test
+	void testNotFound() {
+		ResponseEntity<ProblemDetail> response = handler.handleNotFoundException(new NotFoundException("No such thing"));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(response.getBody().getStatus()).isEqualTo(404);
+		assertThat(response.getBody().getTitle()).isEqualTo("Not Found");
+		assertThat(response.getBody().getDetail()).isEqualTo("No such thing");
+	}
+
+
+	@Test
+	void testTooManyRequestsWithRetryAfter() {
+		ResponseEntity<ProblemDetail> response = handler.handleTooManyRequestsException(
+				new TooManyRequestsException("Slow down", Duration.ofMillis(1500)));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+	}
+
+
+	@Test
+	void testTooManyRequestsWithoutRetryAfter() {
+		ResponseEntity<ProblemDetail> response = handler.handleTooManyRequestsException(new TooManyRequestsException());
+		assertThat(response.getHeaders().containsHeader(HttpHeaders.RETRY_AFTER)).isFalse();
+	}
+
+
+	@Test
+	void testInternalServerErrorHidesMessage() {
+		ResponseEntity<ProblemDetail> response = handler.handleInternalServerErrorException(
+				new InternalServerErrorException("Connection string: secret"));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		assertThat(response.getBody().getDetail()).isNull();
+	}
+
+
+	@Test
+	void testStackTracesCapturedByDefault() {
+		assertThat(ClientErrorStackTraces.isSuppressed()).isFalse();
+		assertThat(new NotFoundException().getStackTrace()).isNotEmpty();
+		assertThat(new FoundException("/elsewhere")).isInstanceOf(ClientErrorException.class);
+		assertThat(new InternalServerErrorException()).isNotInstanceOf(ClientErrorException.class);
+	}
+
+
+	@Test
+	void testReactiveHandler() {
+		ReactiveExceptionHandler reactiveHandler = new ReactiveExceptionHandler(ServerCodecConfigurer.create());
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/things/42"));
+
+		reactiveHandler.handle(exchange, new TooManyRequestsException("Slow down", Duration.ofSeconds(3))).block();
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+		assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+		assertThat(exchange.getResponse().getBodyAsString().block())
+		.contains("\"status\":429")
+		.contains("\"detail\":\"Slow down\"")
+		.contains("\"instance\":\"/things/42\"");
+	}
+
+
+	@Test
+	void testReactiveHandlerPassesOnOtherExceptions() {
+		ReactiveExceptionHandler reactiveHandler = new ReactiveExceptionHandler(ServerCodecConfigurer.create());
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+		IllegalStateException ex = new IllegalStateException();
+
+		Throwable passedOn = reactiveHandler.handle(exchange, ex)
+				.then(Mono.<Throwable>empty())
+				.onErrorResume(e -> Mono.just(e))
+				.block();
+
+		assertThat(passedOn).isSameAs(ex);
+	}
+
+
+}
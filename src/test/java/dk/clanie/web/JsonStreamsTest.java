@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.exception.NotFoundException;
+import dk.clanie.web.test.StubResponse;
+import dk.clanie.web.test.StubServer;
+
+/**
+ * Unit tests for {@link JsonStreams}.
+ *
+ * The responses hold 10.000 elements, about 400 KB, which is more than the
+ * 1 KB maxInMemorySize of the WebClient.
+ */
+public class JsonStreamsTest {
+
+	private static final int ELEMENTS = 10_000;
+
+	public record Item(int id, String name) {
+	}
+
+	private StubServer server;
+	private WebClient webClient;
+	private RestClient restClient;
+
+
+	@BeforeEach
+	void setUp() {
+		server = StubServer.start();
+		server.stub("/array", StubResponse.builder()
+				.header("Content-Type", "application/json")
+				.body(IntStream.range(0, ELEMENTS).mapToObj(JsonStreamsTest::itemJson).collect(Collectors.joining(",", "[", "]")))
+				.chunks(100)
+				.build());
+		server.stub("/ndjson", StubResponse.builder()
+				.header("Content-Type", "application/x-ndjson")
+				.body(IntStream.range(0, ELEMENTS).mapToObj(JsonStreamsTest::itemJson).collect(Collectors.joining("\n", "", "\n")))
+				.chunks(100)
+				.build());
+		ClientOptions options = ClientOptions.builder().maxInMemorySize(DataSize.ofKilobytes(1)).build();
+		webClient = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), options);
+		restClient = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(), options);
+	}
+
+
+	private static String itemJson(int id) {
+		return "{\"id\":" + id + ",\"name\":\"item number " + id + "\"}";
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.close();
+	}
+
+
+	@Test
+	void testFluxFromArray() {
+		List<Item> items = JsonStreams.flux(webClient.get().uri("/array"), Item.class).collectList().block();
+		assertThat(items).hasSize(ELEMENTS);
+		assertThat(items.get(42)).isEqualTo(new Item(42, "item number 42"));
+	}
+
+
+	@Test
+	void testFluxFromNdjson() {
+		Long count = JsonStreams.flux(webClient.get().uri("/ndjson"), Item.class)
+				.limitRate(16)
+				.filter(item -> item.id() % 2 == 0)
+				.count()
+				.block();
+		assertThat(count).isEqualTo(ELEMENTS / 2);
+	}
+
+
+	@Test
+	void testWholeArrayExceedsMaxInMemorySize() {
+		Throwable thrown = catchThrowable(() -> webClient.get().uri("/array")
+				.retrieve()
+				.bodyToMono(new ParameterizedTypeReference<List<Item>>() {})
+				.block());
+		assertThat(NestedExceptionUtils.getMostSpecificCause(thrown)).isInstanceOf(DataBufferLimitException.class);
+	}
+
+
+	@Test
+	void testStreamFromArray() {
+		try (Stream<Item> items = JsonStreams.stream(restClient.get().uri("/array"), Item.class)) {
+			assertThat(items.mapToInt(Item::id).sum()).isEqualTo(IntStream.range(0, ELEMENTS).sum());
+		}
+	}
+
+
+	@Test
+	void testStreamFromNdjson() {
+		try (Stream<Item> items = JsonStreams.stream(restClient.get().uri("/ndjson"), Item.class)) {
+			assertThat(items.limit(3).map(Item::id)).containsExactly(0, 1, 2);
+		}
+	}
+
+
+	@Test
+	void testStreamMapsStatusCodes() {
+		assertThrows(NotFoundException.class, () -> JsonStreams.stream(restClient.get().uri("/status/404"), Item.class));
+	}
+
+
+}
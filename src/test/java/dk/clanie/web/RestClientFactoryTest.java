@@ -45,62 +45,33 @@ import dk.clanie.web.exception.NotFoundException;
 import dk.clanie.web.exception.TooManyRequestsException;
 import dk.clanie.web.exception.UnauthorizedException;
 import dk.clanie.web.exception.UnprocessableContentException;
-import io.netty.handler.codec.http.HttpHeaderNames;
-import reactor.core.publisher.Mono;
-import reactor.netty.DisposableServer;
-import reactor.netty.http.server.HttpServer;
+import dk.clanie.web.test.StubServer;
 
 /**
  * Unit tests for {@link RestClientFactory}.
  *
- * Tests use a lightweight Reactor Netty HTTP server started on a random port
+ * Tests use a {@link StubServer} echoing the status code given on the path
  * and verify that responses are mapped to the correct exceptions by the
  * response handler installed by {@link RestClientFactory}.
  */
 public class RestClientFactoryTest {
 
-	private DisposableServer server;
+	private StubServer server;
 	private String baseUrl;
 	private RestClientFactory clientFactory;
 
 
 	@BeforeEach
 	void setUp() {
-		// Start a server that echo the status codes given on the path.
-		// Expected path is /status/{code} - anything else gives an 404 (Not Found) response.
-		server = HttpServer.create()
-				.port(0)
-				.handle((request, response) -> {
-					String uri = request.uri();
-					if (uri != null && uri.startsWith("/status/")) {
-						String codeStr = uri.substring("/status/".length());
-						int code;
-						try {
-							code = Integer.parseInt(codeStr);
-							response.status(code);
-							if (code == 200) {
-								return response.sendString(Mono.just("hello"));
-							}
-							if (code == 302) {
-								response.header(HttpHeaderNames.LOCATION.toString(), "http://example.com/redirect");
-							} 
-							return response.sendString(Mono.empty());
-						} catch (NumberFormatException e) {
-							// Fall through to 404 response
-						}
-					}
-					response.status(404);
-					return response.sendString(Mono.empty());
-				})
-				.bindNow();
-		baseUrl = "http://localhost:" + server.port();
+		server = StubServer.start();
+		baseUrl = server.getBaseUrl();
 		clientFactory = new RestClientFactory(RestClient.builder());
 	}
 
 
 	@AfterEach
 	void tearDown() {
-		if (server != null) server.disposeNow();
+		if (server != null) server.close();
 	}
 
 
@@ -117,7 +88,7 @@ public class RestClientFactoryTest {
 		RestClient client = clientFactory.newRestClient(baseUrl, false);
 		Throwable ex = assertThrows(FoundException.class, () ->
 		client.get().uri("/status/302").retrieve().body(String.class));
-		assertEquals("http://example.com/redirect", ((FoundException) ex).getLocation());
+		assertEquals(StubServer.REDIRECT_LOCATION, ((FoundException) ex).getLocation());
 	}
 
 	@ParameterizedTest(name = "status {0} -> {1}")
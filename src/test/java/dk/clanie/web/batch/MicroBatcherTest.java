@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.exception.NotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Unit tests for {@link MicroBatcher}.
+ *
+ * Tests use a lightweight Reactor Netty HTTP server with a bulk endpoint,
+ * /items?ids={id1},{id2},..., which responds with one line, "item-{id}",
+ * for each requested id below 1000. Higher ids are unknown.
+ */
+public class MicroBatcherTest {
+
+	private DisposableServer server;
+	private AtomicInteger bulkCalls;
+	private WebClient client;
+
+
+	@BeforeEach
+	void setUp() {
+		bulkCalls = new AtomicInteger();
+		server = HttpServer.create()
+				.port(0)
+				.route(routes -> routes.get("/items", (request, response) -> {
+					bulkCalls.incrementAndGet();
+					String query = request.uri().substring(request.uri().indexOf("ids=") + 4);
+					String body = Arrays.stream(query.split(","))
+							.filter(id -> Integer.parseInt(id) < 1000)
+							.map(id -> "item-" + id)
+							.collect(Collectors.joining("\n"));
+					return response.sendString(Mono.just(body));
+				}))
+				.bindNow();
+		client = new WebClientFactory(WebClient.builder()).newWebClient("http://localhost:" + server.port(), false);
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.disposeNow();
+	}
+
+
+	private MicroBatcher<String, String> newBatcher(int maxBatchSize, Duration maxDelay) {
+		return MicroBatcher.bulkGet(client,
+				ids -> "/items?ids=" + String.join(",", ids),
+				String.class,
+				item -> item.substring("item-".length()),
+				maxBatchSize, maxDelay);
+	}
+
+
+	@Test
+	void testSingleGet() {
+		MicroBatcher<String, String> batcher = newBatcher(10, Duration.ofMillis(5));
+		assertThat(batcher.get("42").block()).isEqualTo("item-42");
+		assertThat(bulkCalls.get()).isEqualTo(1);
+	}
+
+
+	@Test
+	void testMissingItemGivesNotFound() {
+		MicroBatcher<String, String> batcher = newBatcher(10, Duration.ofMillis(5));
+		List<String> values = Mono.zip(
+				batcher.get("1"),
+				batcher.get("1001").onErrorResume(NotFoundException.class, _ -> Mono.just("not found")),
+				List::of)
+				.block();
+		assertThat(values).containsExactly("item-1", "not found");
+		assertThat(bulkCalls.get()).isEqualTo(1);
+
+		assertThrows(NotFoundException.class, () -> batcher.get("1001").block());
+	}
+
+
+	@Test
+	void testDuplicateKeysShareLookup() {
+		MicroBatcher<String, String> batcher = newBatcher(10, Duration.ofMillis(50));
+		List<String> values = Flux.merge(batcher.get("7"), batcher.get("7"), batcher.get("8"))
+				.collectList()
+				.block();
+		assertThat(values).containsExactlyInAnyOrder("item-7", "item-7", "item-8");
+		assertThat(bulkCalls.get()).isEqualTo(1);
+	}
+
+
+	@Test
+	void testBulkCallThrowing() {
+		MicroBatcher<String, String> batcher = MicroBatcher.<String, String>builder()
+				.bulkCall(_ -> {
+					throw new IllegalStateException("Bulk call failed");
+				})
+				.keyExtractor(value -> value)
+				.maxDelay(Duration.ofMillis(5))
+				.build();
+
+		List<String> outcomes = Flux.merge(
+				batcher.get("1").onErrorResume(e -> Mono.just(e.getMessage())),
+				batcher.get("2").onErrorResume(e -> Mono.just(e.getMessage())))
+				.collectList()
+				.block(Duration.ofSeconds(5));
+
+		assertThat(outcomes).containsExactly("Bulk call failed", "Bulk call failed");
+	}
+
+
+	/**
+	 * Shows the reduction in number of calls to the downstream service.
+	 */
+	@Test
+	void testCallCountReduction() {
+		int lookups = 500;
+		int maxBatchSize = 25;
+		MicroBatcher<String, String> batcher = newBatcher(maxBatchSize, Duration.ofMillis(20));
+
+		List<String> values = Flux.range(0, lookups)
+				.flatMap(i -> batcher.get(String.valueOf(i)), lookups)
+				.collectList()
+				.block(Duration.ofSeconds(10));
+
+		assertThat(values).hasSize(lookups)
+		.containsAll(IntStream.range(0, lookups).mapToObj(i -> "item-" + i).toList());
+		assertThat(bulkCalls.get()).as("%d lookups should take no more than %d bulk calls", lookups, lookups / maxBatchSize)
+		.isLessThanOrEqualTo(lookups / maxBatchSize);
+	}
+
+
+}
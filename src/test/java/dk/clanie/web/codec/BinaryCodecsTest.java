@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.google.protobuf.StringValue;
+
+import dk.clanie.web.ClientOptions;
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Unit tests for {@link BinaryCodecs} used through {@link ClientOptions#getBinaryFormat()},
+ * and for the server side configurers.
+ *
+ * The test server echoes the request body with its Content-Type, and returns
+ * the Accept header of the request in an X-Accept header.
+ */
+public class BinaryCodecsTest {
+
+	private static final String X_ACCEPT = "X-Accept";
+
+	public record Item(int id, String name) {
+	}
+
+	@RestController
+	static class Endpoints {
+
+		@GetMapping("/text")
+		String text() {
+			return "hello";
+		}
+
+		@GetMapping("/item")
+		Item item() {
+			return new Item(1, "one");
+		}
+
+	}
+
+	private DisposableServer server;
+	private String baseUrl;
+
+
+	@BeforeEach
+	void setUp() {
+		server = HttpServer.create()
+				.port(0)
+				.handle((request, response) -> response
+						.header(HttpHeaders.CONTENT_TYPE, request.requestHeaders().get(HttpHeaders.CONTENT_TYPE))
+						.header(X_ACCEPT, String.valueOf(request.requestHeaders().get(HttpHeaders.ACCEPT)))
+						.send(request.receive().retain()))
+				.bindNow();
+		baseUrl = "http://localhost:" + server.port();
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.disposeNow();
+	}
+
+
+	@ParameterizedTest
+	@EnumSource(value = BinaryFormat.class, names = {"CBOR", "SMILE"})
+	void testWebClientRoundTrip(BinaryFormat format) {
+		WebClient client = new WebClientFactory(WebClient.builder())
+				.newWebClient(baseUrl, ClientOptions.builder().binaryFormat(format).build());
+
+		ResponseEntity<Item> response = client.post().uri("/echo").bodyValue(new Item(1, "one"))
+				.retrieve().toEntity(Item.class).block();
+
+		assertThat(response.getHeaders().getContentType()).isEqualTo(format.getMediaType());
+		assertThat(response.getHeaders().getFirst(X_ACCEPT)).startsWith(format.getMediaType().toString());
+		assertThat(response.getBody()).isEqualTo(new Item(1, "one"));
+	}
+
+
+	@ParameterizedTest
+	@EnumSource(value = BinaryFormat.class, names = {"CBOR", "SMILE"})
+	void testRestClientRoundTrip(BinaryFormat format) {
+		RestClient client = new RestClientFactory(RestClient.builder())
+				.newRestClient(baseUrl, ClientOptions.builder().binaryFormat(format).build());
+
+		ResponseEntity<Item> response = client.post().uri("/echo").body(new Item(2, "two"))
+				.retrieve().toEntity(Item.class);
+
+		assertThat(response.getHeaders().getContentType()).isEqualTo(format.getMediaType());
+		assertThat(response.getHeaders().getFirst(X_ACCEPT)).startsWith(format.getMediaType().toString());
+		assertThat(response.getBody()).isEqualTo(new Item(2, "two"));
+	}
+
+
+	@Test
+	void testProtobuf() {
+		ClientOptions options = ClientOptions.builder().binaryFormat(BinaryFormat.PROTOBUF).build();
+		WebClient webClient = new WebClientFactory(WebClient.builder()).newWebClient(baseUrl, options);
+		RestClient restClient = new RestClientFactory(RestClient.builder()).newRestClient(baseUrl, options);
+		StringValue message = StringValue.of("hello");
+
+		assertThat(webClient.post().uri("/echo").bodyValue(message).retrieve().bodyToMono(StringValue.class).block())
+		.isEqualTo(message);
+		assertThat(restClient.post().uri("/echo").body(message).retrieve().body(StringValue.class))
+		.isEqualTo(message);
+	}
+
+
+	@Test
+	void testWebMvcNegotiationUnchanged() throws Exception {
+		HttpMessageConverters.ServerBuilder builder = HttpMessageConverters.forServer().registerDefaults();
+		new BinaryCodecsWebMvcConfigurer().configureMessageConverters(builder);
+		List<HttpMessageConverter<?>> converters = new ArrayList<>();
+		builder.build().forEach(converters::add);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new Endpoints())
+				.setMessageConverters(converters.toArray(HttpMessageConverter<?>[]::new))
+				.build();
+
+		mvc.perform(get("/text")).andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN));
+		mvc.perform(get("/item")).andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+		mvc.perform(get("/item").accept(BinaryFormat.CBOR.getMediaType()))
+		.andExpect(content().contentTypeCompatibleWith(BinaryFormat.CBOR.getMediaType()));
+	}
+
+
+	@Test
+	void testWebFluxNegotiationUnchanged() {
+		BinaryCodecsWebFluxConfigurer configurer = new BinaryCodecsWebFluxConfigurer(JsonMapper.shared());
+		WebTestClient client = WebTestClient.bindToController(new Endpoints())
+				.httpMessageCodecs(configurer::configureHttpMessageCodecs)
+				.build();
+
+		client.get().uri("/text").exchange()
+		.expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN);
+		client.get().uri("/item").exchange()
+		.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+		client.get().uri("/item").accept(BinaryFormat.SMILE.getMediaType()).exchange()
+		.expectHeader().contentTypeCompatibleWith(BinaryFormat.SMILE.getMediaType());
+	}
+
+
+	@Test
+	void testPresentFormats() {
+		assertThat(BinaryCodecs.presentFormats()).containsExactly(BinaryFormat.values());
+	}
+
+
+}
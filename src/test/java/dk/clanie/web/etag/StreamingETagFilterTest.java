@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.etag;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Unit tests for {@link StreamingETagFilter} and {@link ReactiveStreamingETagFilter}.
+ */
+public class StreamingETagFilterTest {
+
+	private static final byte[] BODY = "{\"id\":42,\"name\":\"The answer\"}".getBytes(UTF_8);
+	private static final String BODY_ETAG = ETags.fromDigest(ETags.newDigest().digest(BODY));
+
+
+	private MockHttpServletResponse filterServlet(StreamingETagFilter filter, MockHttpServletRequest request, byte[] body) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, (_, res) -> {
+			// Written in two parts to exercise the incremental digest.
+			res.getOutputStream().write(body, 0, body.length / 2);
+			res.getOutputStream().write(body, body.length / 2, body.length - body.length / 2);
+		});
+		return response;
+	}
+
+
+	@Test
+	void testServletAddsETag() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(1024);
+		MockHttpServletResponse response = filterServlet(filter, new MockHttpServletRequest("GET", "/things/42"), BODY);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(BODY_ETAG);
+		assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+		assertThat(response.getContentLength()).isEqualTo(BODY.length);
+	}
+
+
+	@Test
+	void testServletNotModified() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(1024);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/things/42");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + BODY_ETAG);
+
+		MockHttpServletResponse response = filterServlet(filter, request, BODY);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+		assertThat(filter.getStatistics().getNotModifiedResponses()).isEqualTo(1);
+		assertThat(filter.getStatistics().getBytesSaved()).isEqualTo(BODY.length);
+	}
+
+
+	@Test
+	void testServletHeadIsPassedOn() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(1024);
+		MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/things/42");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, ETags.fromDigest(ETags.newDigest().digest()));
+
+		// The container drops the body of a HEAD response, so the filter sees none
+		MockHttpServletResponse response = filterServlet(filter, request, new byte[0]);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+	}
+
+
+	@Test
+	void testServletStreamsLargeResponseWithoutETag() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(BODY.length - 1);
+		MockHttpServletResponse response = filterServlet(filter, new MockHttpServletRequest("GET", "/things/42"), BODY);
+
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+		assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+		assertThat(filter.getStatistics().getStreamedResponses()).isEqualTo(1);
+	}
+
+
+	@Test
+	void testServletKeepsPrecomputedETag() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(1024);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/things/42"), response, (_, res) -> {
+			((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, ETags.fromVersion(7));
+			res.getOutputStream().write(BODY);
+		});
+
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"7\"");
+		assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+		assertThat(filter.getStatistics().getTaggedResponses()).isZero();
+	}
+
+
+	@Test
+	void testServletIgnoresPost() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(1024);
+		MockHttpServletResponse response = filterServlet(filter, new MockHttpServletRequest("POST", "/things"), BODY);
+
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+		assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+	}
+
+
+	@Test
+	void testServletFlushIsDeferredWhileBuffering() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(1024);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/things/42"), response, (_, res) -> {
+			res.getOutputStream().write(BODY);
+			res.getOutputStream().flush();
+			assertThat(response.isCommitted()).isFalse();
+		});
+
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(BODY_ETAG);
+	}
+
+
+	@Test
+	void testServletFlushPassesThroughWhenStreaming() throws Exception {
+		StreamingETagFilter filter = new StreamingETagFilter(BODY.length - 1);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/things/42"), response, (_, res) -> {
+			res.getOutputStream().write(BODY);
+			res.getOutputStream().flush();
+			assertThat(response.isCommitted()).isTrue();
+			assertThat(res.getOutputStream().isReady()).isTrue();
+		});
+
+		assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+	}
+
+
+	private MockServerWebExchange filterReactive(ReactiveStreamingETagFilter filter, MockServerHttpRequest request, byte[] body) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+		int half = body.length / 2;
+		filter.filter(exchange, filtered -> filtered.getResponse().writeWith(Flux.just(
+				bufferFactory.wrap(Arrays.copyOfRange(body, 0, half)),
+				bufferFactory.wrap(Arrays.copyOfRange(body, half, body.length)))))
+		.block();
+		return exchange;
+	}
+
+
+	@Test
+	void testReactiveAddsETag() {
+		ReactiveStreamingETagFilter filter = new ReactiveStreamingETagFilter(1024);
+		MockServerWebExchange exchange = filterReactive(filter, MockServerHttpRequest.get("/things/42").build(), BODY);
+
+		assertThat(exchange.getResponse().getHeaders().getETag()).isEqualTo(BODY_ETAG);
+		assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(new String(BODY, UTF_8));
+	}
+
+
+	@Test
+	void testReactiveNotModified() {
+		ReactiveStreamingETagFilter filter = new ReactiveStreamingETagFilter(1024);
+		MockServerWebExchange exchange = filterReactive(filter,
+				MockServerHttpRequest.get("/things/42").ifNoneMatch(BODY_ETAG).build(), BODY);
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(exchange.getResponse().getBodyAsString().block()).isNullOrEmpty();
+		assertThat(filter.getStatistics().getBytesSaved()).isEqualTo(BODY.length);
+	}
+
+
+	@Test
+	void testReactiveStreamsLargeResponseWithoutETag() {
+		ReactiveStreamingETagFilter filter = new ReactiveStreamingETagFilter(BODY.length - 1);
+		MockServerWebExchange exchange = filterReactive(filter, MockServerHttpRequest.get("/things/42").build(), BODY);
+
+		assertThat(exchange.getResponse().getHeaders().getETag()).isNull();
+		assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(new String(BODY, UTF_8));
+		assertThat(filter.getStatistics().getStreamedResponses()).isEqualTo(1);
+	}
+
+
+	@Test
+	void testReactiveReleasesBuffersOnCancel() {
+		ReactiveStreamingETagFilter filter = new ReactiveStreamingETagFilter(1024);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/things/42").build());
+		exchange.getResponse().setWriteHandler(body -> Flux.from(body).then());
+		NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+		NettyDataBuffer buffer = bufferFactory.allocateBuffer(BODY.length);
+		buffer.write(BODY);
+
+		Disposable response = filter.filter(exchange, filtered -> filtered.getResponse()
+				.writeWith(Flux.just((DataBuffer) buffer).concatWith(Flux.never())))
+				.subscribe();
+		response.dispose();
+
+		assertThat(buffer.getNativeBuffer().refCnt()).isZero();
+	}
+
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.fanout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.exception.NotFoundException;
+import dk.clanie.web.fanout.Outcome.Failure;
+import dk.clanie.web.fanout.Outcome.Success;
+import dk.clanie.web.fanout.Outcome.Timeout;
+import dk.clanie.web.test.Latency;
+import dk.clanie.web.test.StubResponse;
+import dk.clanie.web.test.StubServer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link ScatterGather}.
+ */
+public class ScatterGatherTest {
+
+	private StubServer server;
+	private WebClient webClient;
+
+
+	@BeforeEach
+	void setUp() {
+		server = StubServer.start();
+		webClient = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), false);
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.close();
+	}
+
+
+	private Mono<String> get(String path) {
+		return webClient.get().uri(path).retrieve().bodyToMono(String.class);
+	}
+
+
+	@Test
+	void testPartialResults() {
+		server.stub("/slow", StubResponse.builder().latency(Latency.fixed(Duration.ofSeconds(2))).build());
+		Map<String, Mono<String>> calls = new LinkedHashMap<>();
+		calls.put("slow", get("/slow"));
+		calls.put("ok", get("/status/200"));
+		calls.put("missing", get("/status/404"));
+		calls.put("empty", Mono.empty());
+
+		long start = System.nanoTime();
+		GatherResult<String, String> result = ScatterGather.run(calls, Duration.ofMillis(300)).block();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+		assertThat(result.getOutcomes()).containsOnlyKeys("slow", "ok", "missing", "empty");
+		assertThat(result.getOutcomes().keySet()).containsExactly("slow", "ok", "missing", "empty");
+		assertThat(result.getOutcome("ok")).isEqualTo(new Success<>("hello"));
+		assertThat(result.getOutcome("missing")).isInstanceOf(Failure.class);
+		assertThat(result.getFailures().get("missing")).isInstanceOf(NotFoundException.class);
+		assertThat(result.getOutcome("slow")).isInstanceOf(Timeout.class);
+		assertThat(result.getOutcome("empty")).isEqualTo(new Success<>(null));
+		assertThat(result.getValues()).containsExactly(Map.entry("ok", "hello"));
+		assertThat(result.getTimedOut()).containsExactly("slow");
+		assertThat(result.isComplete()).isFalse();
+	}
+
+
+	@Test
+	void testBoundedConcurrency() {
+		server.stub("/item", StubResponse.builder().latency(Latency.fixed(Duration.ofMillis(50))).build());
+		Map<Integer, Mono<String>> calls = new LinkedHashMap<>();
+		for (int i = 0; i < 12; i++) calls.put(i, get("/item"));
+
+		GatherResult<Integer, String> result = ScatterGather.run(calls, Duration.ofSeconds(5), 3).block();
+
+		assertThat(result.isComplete()).isTrue();
+		assertThat(result.getValues()).hasSize(12);
+		assertThat(server.getMaxInFlight()).isLessThanOrEqualTo(3);
+	}
+
+
+	@Test
+	void testCallsNotStartedBeforeDeadline() {
+		server.stub("/item", StubResponse.builder().latency(Latency.fixed(Duration.ofMillis(200))).build());
+		Map<Integer, Mono<String>> calls = new LinkedHashMap<>();
+		for (int i = 0; i < 4; i++) calls.put(i, get("/item"));
+
+		GatherResult<Integer, String> result = ScatterGather.run(calls, Duration.ofMillis(300), 1).block();
+
+		assertThat(result.getValues()).containsOnlyKeys(0);
+		assertThat(result.getTimedOut()).containsExactly(1, 2, 3);
+		assertThat(server.getRequestCount("/item")).isLessThanOrEqualTo(2);
+	}
+
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.ClientOptions;
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.exception.InternalServerErrorException;
+import dk.clanie.web.exception.TooManyRequestsException;
+import dk.clanie.web.limit.ClientLimiter.Permit;
+import dk.clanie.web.test.Latency;
+import dk.clanie.web.test.LoadGenerator;
+import dk.clanie.web.test.LoadReport;
+import dk.clanie.web.test.StubResponse;
+import dk.clanie.web.test.StubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Unit tests for {@link ClientLimiter} and {@link ClientLimitHooks}.
+ */
+public class ClientLimiterTest {
+
+	private static final ClientLimit FIXED_LIMIT_4 = ClientLimit.builder()
+			.initialLimit(4)
+			.maxLimit(4)
+			.maxQueueSize(1000)
+			.maxQueueWait(Duration.ofSeconds(10))
+			.build();
+
+	private StubServer server;
+	private SimpleMeterRegistry meterRegistry;
+
+
+	@BeforeEach
+	void setUp() {
+		server = StubServer.start();
+		server.stub("/slow", StubResponse.builder().latency(Latency.fixed(Duration.ofMillis(20))).build());
+		server.stub("/overloaded", StubResponse.builder().status(503, 1).build());
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.close();
+	}
+
+
+	@Test
+	void testQueueAndReject() throws Exception {
+		ClientLimiter limiter = ClientLimit.builder()
+				.initialLimit(2).maxLimit(2)
+				.maxQueueSize(1).maxQueueWait(Duration.ofSeconds(10))
+				.build().newLimiter();
+
+		Permit first = limiter.acquire().get();
+		limiter.acquire().get();
+		CompletableFuture<Permit> queued = limiter.acquire();
+		CompletableFuture<Permit> rejected = limiter.acquire();
+
+		assertThat(queued).isNotDone();
+		assertThat(limiter.getQueued()).isEqualTo(1);
+		ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+		assertThat(e.getCause()).isInstanceOf(TooManyRequestsException.class);
+
+		first.release();
+		assertThat(queued).isCompleted();
+		assertThat(limiter.getInFlight()).isEqualTo(2);
+		assertThat(limiter.getRejected()).isEqualTo(1);
+	}
+
+
+	@Test
+	void testQueueWaitTimeout() {
+		ClientLimiter limiter = ClientLimit.builder()
+				.initialLimit(1).maxLimit(1)
+				.maxQueueWait(Duration.ofMillis(50))
+				.build().newLimiter();
+
+		limiter.acquireBlocking();
+		assertThrows(TooManyRequestsException.class, limiter::acquireBlocking);
+		assertThat(limiter.getQueued()).isZero();
+	}
+
+
+	@Test
+	void testQueuedRequestsAreNotOvertaken() {
+		AimdLimit limit = new AimdLimit(1, 1, 2, 0.9, 2.0);
+		ClientLimiter limiter = new ClientLimiter(limit, 10, Duration.ofSeconds(10));
+
+		limiter.acquireBlocking();
+		CompletableFuture<Permit> queued = limiter.acquire();
+		// Grow the limit to 2 without releasing the permit
+		limit.onSample(System.nanoTime(), 1, 1, false);
+		CompletableFuture<Permit> later = limiter.acquire();
+
+		assertThat(limit.getLimit()).isEqualTo(2);
+		assertThat(queued).isCompleted();
+		assertThat(later).isNotDone();
+	}
+
+
+	@Test
+	void testCancelledWaiterLeavesQueue() {
+		ClientLimiter limiter = ClientLimit.builder().initialLimit(1).maxLimit(1).build().newLimiter();
+
+		Permit permit = limiter.acquireBlocking();
+		limiter.acquire().cancel(false);
+		permit.release();
+
+		assertThat(limiter.getQueued()).isZero();
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+
+	@Test
+	void testCancelledExchangeLeavesQueue() {
+		ClientLimiter limiter = ClientLimit.builder().initialLimit(1).maxLimit(1).build().newLimiter();
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create(server.getBaseUrl())).build();
+		ExchangeFunction next = _ -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+		Permit permit = limiter.acquireBlocking();
+		Disposable exchange = ClientLimitHooks.exchangeFilter(limiter).filter(request, next).subscribe();
+		assertThat(limiter.getQueued()).isEqualTo(1);
+		exchange.dispose();
+		assertThat(limiter.getQueued()).isZero();
+
+		permit.release();
+		assertThat(limiter.getInFlight()).isZero();
+		assertThat(ClientLimitHooks.exchangeFilter(limiter).filter(request, next).block().statusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(limiter.getInFlight()).isZero();
+	}
+
+
+	@Test
+	void testQueuedByPriority() throws Exception {
+		ClientLimiter limiter = ClientLimit.builder()
+				.initialLimit(1).maxLimit(1)
+				.priorityAging(Duration.ZERO)
+				.build().newLimiter();
+
+		Permit permit = limiter.acquireBlocking();
+		CompletableFuture<Permit> low = limiter.acquire(Priority.LOW);
+		CompletableFuture<Permit> normal = limiter.acquire(Priority.NORMAL);
+		CompletableFuture<Permit> high = limiter.acquire(Priority.HIGH);
+
+		permit.release();
+		assertThat(high).isCompleted();
+		assertThat(normal).isNotDone();
+		high.get().release();
+		assertThat(normal).isCompleted();
+		assertThat(low).isNotDone();
+		normal.get().release();
+		assertThat(low).isCompleted();
+	}
+
+
+	@Test
+	void testReservedForHighPriority() {
+		ClientLimiter limiter = ClientLimit.builder()
+				.initialLimit(10).maxLimit(10)
+				.highPriorityReserve(0.2)
+				.build().newLimiter();
+
+		for (int i = 0; i < 8; i++) limiter.acquireBlocking(Priority.LOW);
+		CompletableFuture<Permit> normal = limiter.acquire(Priority.NORMAL);
+		CompletableFuture<Permit> high = limiter.acquire(Priority.HIGH);
+
+		assertThat(normal).isNotDone();
+		assertThat(high).isCompleted();
+		assertThat(limiter.getInFlight()).isEqualTo(9);
+	}
+
+
+	@Test
+	void testPriorityOfNameIgnoresDefaultLocale() {
+		Locale defaultLocale = Locale.getDefault();
+		Locale.setDefault(Locale.forLanguageTag("tr"));
+		try {
+			assertThat(Priority.of("high")).isEqualTo(Priority.HIGH);
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+
+	@Test
+	void testLowPriorityAging() throws Exception {
+		ClientLimiter limiter = ClientLimit.builder()
+				.initialLimit(1).maxLimit(1)
+				.priorityAging(Duration.ofMillis(50))
+				.build().newLimiter();
+
+		Permit permit = limiter.acquireBlocking();
+		CompletableFuture<Permit> low = limiter.acquire(Priority.LOW);
+		Thread.sleep(Duration.ofMillis(120));
+		CompletableFuture<Permit> normal = limiter.acquire(Priority.NORMAL);
+
+		permit.release();
+		assertThat(low).isCompleted();
+		assertThat(normal).isNotDone();
+	}
+
+
+	@Test
+	void testQueueWaitByPriority() throws Exception {
+		WebClientFactory factory = new WebClientFactory(WebClient.builder());
+		factory.setMeterRegistry(meterRegistry);
+		WebClient client = factory.newWebClient(server.getBaseUrl(),
+				ClientOptions.builder().name("stub").concurrencyLimit(ClientLimit.builder().initialLimit(1).maxLimit(1).build()).build());
+
+		LoadReport report = LoadGenerator.closedLoop(4, Duration.ofMillis(300),
+				() -> client.get().uri("/slow").attribute(Priority.ATTRIBUTE, Priority.LOW).retrieve().toBodilessEntity());
+		client.get().uri("/slow").attribute(Priority.ATTRIBUTE, "high").retrieve().toBodilessEntity().block();
+
+		assertThat(report.getFailures()).isZero();
+		assertThat(meterRegistry.get("clanie.web.client.queue.wait").tag("priority", "low").timer().count()).isGreaterThanOrEqualTo(report.getCalls());
+		assertThat(meterRegistry.get("clanie.web.client.queue.wait").tag("priority", "low").timer().max(TimeUnit.MILLISECONDS)).isPositive();
+		assertThat(meterRegistry.get("clanie.web.client.queue.wait").tag("priority", "high").timer().count()).isEqualTo(1);
+	}
+
+
+	@Test
+	void testWebClientStaysWithinLimit() {
+		WebClientFactory factory = new WebClientFactory(WebClient.builder());
+		factory.setMeterRegistry(meterRegistry);
+		WebClient client = factory.newWebClient(server.getBaseUrl(),
+				ClientOptions.builder().name("stub").concurrencyLimit(FIXED_LIMIT_4).build());
+
+		LoadReport report = LoadGenerator.closedLoop(20, Duration.ofMillis(500),
+				() -> client.get().uri("/slow").retrieve().toBodilessEntity());
+
+		assertThat(report.getFailures()).isZero();
+		assertThat(server.getMaxInFlight()).isEqualTo(4);
+		assertThat(meterRegistry.get("clanie.web.client.limit").tag("client", "stub").gauge().value()).isEqualTo(4);
+	}
+
+
+	@Test
+	void testRestClientStaysWithinLimit() {
+		RestClient client = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(),
+				ClientOptions.builder().concurrencyLimit(FIXED_LIMIT_4).build());
+
+		LoadReport report = LoadGenerator.closedLoop(20, Duration.ofMillis(500),
+				LoadGenerator.blocking(() -> client.get().uri("/slow").retrieve().toBodilessEntity()));
+
+		assertThat(report.getFailures()).isZero();
+		assertThat(server.getMaxInFlight()).isEqualTo(4);
+	}
+
+
+	@Test
+	void testOverloadDecreasesLimit() {
+		WebClientFactory factory = new WebClientFactory(WebClient.builder());
+		factory.setMeterRegistry(meterRegistry);
+		WebClient client = factory.newWebClient(server.getBaseUrl(),
+				ClientOptions.builder().name("stub").concurrencyLimit(ClientLimit.builder().initialLimit(20).build()).build());
+
+		for (int i = 0; i < 10; i++) {
+			assertThrows(InternalServerErrorException.class, () ->
+			client.get().uri("/overloaded").retrieve().toBodilessEntity().block());
+		}
+
+		assertThat(meterRegistry.get("clanie.web.client.limit").gauge().value()).isLessThan(10);
+	}
+
+
+}
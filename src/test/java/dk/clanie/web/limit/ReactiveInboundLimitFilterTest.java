@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebHandler;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import dk.clanie.web.exception.NotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.function.Tuple2;
+
+/**
+ * Load test for {@link ReactiveInboundLimitFilter}.
+ *
+ * The test server simulates a service which gets slower the more requests
+ * it processes concurrently: 10 ms, plus 10 ms for each request in progress
+ * beyond 10. Without a limit, 100 concurrent clients would see a latency
+ * of about a second. The client has a connection for each concurrent
+ * request, so latencies are not inflated by waiting for a pooled connection.
+ */
+public class ReactiveInboundLimitFilterTest {
+
+	private static final int CONCURRENCY = 100;
+
+	private DisposableServer server;
+	private ReactiveInboundLimitFilter filter;
+	private ConnectionProvider connectionProvider;
+	private HttpClient client;
+
+
+	@BeforeEach
+	void setUp() {
+		AtomicInteger active = new AtomicInteger();
+		WebHandler handler = exchange -> {
+			int concurrent = active.incrementAndGet();
+			long delay = 10 + 10L * Math.max(0, concurrent - 10);
+			return Mono.delay(Duration.ofMillis(delay))
+					.then(exchange.getResponse().setComplete())
+					.doFinally(_ -> active.decrementAndGet());
+		};
+		filter = new ReactiveInboundLimitFilter(
+				new ConcurrencyLimiter(new AimdLimit(20, 2, 200, 0.9, 2.0), 0.5),
+				new LaneResolver(List.of("/health"), List.of()),
+				Duration.ofSeconds(1));
+		HttpHandler httpHandler = WebHttpHandlerBuilder.webHandler(handler).filter(filter).build();
+		server = HttpServer.create()
+				.port(0)
+				.handle(new ReactorHttpHandlerAdapter(httpHandler))
+				.bindNow();
+		connectionProvider = ConnectionProvider.builder("load-test").maxConnections(CONCURRENCY).build();
+		client = HttpClient.create(connectionProvider).baseUrl("http://localhost:" + server.port());
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.disposeNow();
+		if (connectionProvider != null) connectionProvider.dispose();
+	}
+
+
+	private Mono<Tuple2<Long, Integer>> call(String uri) {
+		return client.get().uri(uri)
+				.responseSingle((response, body) -> body.then(Mono.just(response.status().code())))
+				.elapsed();
+	}
+
+
+	@Test
+	void testLatencyStaysBoundedUnderOverload() {
+		List<Tuple2<Long, Integer>> results = Flux.range(0, 2000)
+				.flatMap(_ -> call("/work"), CONCURRENCY)
+				.collectList()
+				.block(Duration.ofSeconds(60));
+
+		List<Long> acceptedLatencies = results.stream()
+				.filter(result -> result.getT2() == 200)
+				.map(Tuple2::getT1)
+				.sorted()
+				.toList();
+		long rejected = results.stream().filter(result -> result.getT2() == 429).count();
+		long p95 = acceptedLatencies.get((int) (acceptedLatencies.size() * 0.95));
+
+		assertThat(rejected).as("Requests should be shed").isPositive();
+		assertThat(acceptedLatencies).as("Requests should be accepted").isNotEmpty();
+		assertThat(p95).as("p95 latency of accepted requests").isLessThan(500);
+	}
+
+
+	@Test
+	void testCriticalRequestsAreNeverShed() {
+		Flux<Integer> work = Flux.range(0, 1000).flatMap(_ -> call("/work"), CONCURRENCY).map(Tuple2::getT2);
+		Flux<Integer> health = Flux.range(0, 50).delayElements(Duration.ofMillis(10)).concatMap(_ -> call("/health")).map(Tuple2::getT2);
+
+		List<Integer> healthStatuses = Flux.merge(work.then(Mono.<List<Integer>>empty()), health.collectList())
+				.blockLast(Duration.ofSeconds(60));
+
+		assertThat(healthStatuses).hasSize(50).containsOnly(200);
+	}
+
+
+	@Test
+	void testRetryAfterHeader() {
+		ReactiveInboundLimitFilter saturated = new ReactiveInboundLimitFilter(
+				new ConcurrencyLimiter(new AimdLimit(1, 1, 1, 0.9, 2.0), 0.5),
+				new LaneResolver(List.of(), List.of()),
+				Duration.ofSeconds(5));
+		saturated.getLimiter().tryAcquire(Lane.NORMAL);
+		DisposableServer saturatedServer = HttpServer.create()
+				.port(0)
+				.handle(new ReactorHttpHandlerAdapter(WebHttpHandlerBuilder
+						.webHandler(exchange -> exchange.getResponse().setComplete())
+						.filter(saturated)
+						.build()))
+				.bindNow();
+		try {
+			String retryAfter = HttpClient.create()
+					.get().uri("http://localhost:" + saturatedServer.port() + "/")
+					.responseSingle((response, body) -> body.then(Mono.just(
+							response.status().code() + " " + response.responseHeaders().get("Retry-After"))))
+					.block();
+			assertThat(retryAfter).isEqualTo("429 5");
+		} finally {
+			saturatedServer.disposeNow();
+		}
+	}
+
+
+	@Test
+	void testLowPriorityAdmittedWithSmallLimit() {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(new AimdLimit(1, 1, 1, 0.9, 2.0), 0.5);
+		assertThat(limiter.tryAcquire(Lane.LOW)).isNotNull();
+		assertThat(limiter.tryAcquire(Lane.LOW)).isNull();
+	}
+
+
+	@Test
+	void testErrorCountsAsOverload() {
+		ReactiveInboundLimitFilter failing = new ReactiveInboundLimitFilter(
+				new ConcurrencyLimiter(new AimdLimit(20, 2, 200, 0.9, 2.0), 0.5),
+				new LaneResolver(List.of(), List.of()),
+				Duration.ofSeconds(1));
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/work"));
+
+		failing.filter(exchange, _ -> Mono.error(new IllegalStateException("Failed")))
+		.onErrorComplete()
+		.block();
+
+		assertThat(failing.getLimiter().getInFlight()).isZero();
+		assertThat(failing.getLimiter().getLimit().getLimit()).isEqualTo(18);
+	}
+
+
+	@Test
+	void testClientErrorDoesNotCountAsOverload() {
+		ReactiveInboundLimitFilter notFound = new ReactiveInboundLimitFilter(
+				new ConcurrencyLimiter(new AimdLimit(20, 2, 200, 0.9, 2.0), 0.5),
+				new LaneResolver(List.of(), List.of()),
+				Duration.ofSeconds(1));
+
+		notFound.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/missing")),
+				_ -> Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+		.onErrorComplete()
+		.block();
+		notFound.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/missing")),
+				_ -> Mono.error(new NotFoundException("No such thing")))
+		.onErrorComplete()
+		.block();
+
+		assertThat(notFound.getLimiter().getInFlight()).isZero();
+		assertThat(notFound.getLimiter().getLimit().getLimit()).isEqualTo(20);
+	}
+
+
+}
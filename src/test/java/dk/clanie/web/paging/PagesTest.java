@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.exception.NotFoundException;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Unit tests for {@link Pages}.
+ *
+ * The test server serves 5 pages of 3 elements each, as arrays with a Link
+ * header at /links?page=n, and as objects with a cursor at /cursor?cursor=n.
+ * At /other-host the first page links to the rest through 127.0.0.1, and
+ * /wrapped has its elements in a "data" field.
+ */
+public class PagesTest {
+
+	private static final int PAGES = 5;
+	private static final int PAGE_SIZE = 3;
+	private static final List<Integer> ALL = IntStream.range(0, PAGES * PAGE_SIZE).boxed().toList();
+	private static final Paging CURSOR = Paging.cursor("items", "nextCursor", "cursor");
+
+	private DisposableServer server;
+	private final AtomicInteger requests = new AtomicInteger();
+	private WebClient webClient;
+	private RestClient restClient;
+
+
+	@BeforeEach
+	void setUp() {
+		server = HttpServer.create()
+				.port(0)
+				.route(routes -> routes
+						.get("/links", (request, response) -> {
+							requests.incrementAndGet();
+							int page = pageParam(request.uri(), "page");
+							if (page < PAGES - 1) response.header("Link", "</links?page=0>; rel=\"first\", </links?page=" + (page + 1) + ">; rel=\"next\"");
+							return response.header("Content-Type", "application/json").sendString(Mono.just(items(page)));
+						})
+						.get("/cursor", (request, response) -> {
+							requests.incrementAndGet();
+							int page = pageParam(request.uri(), "cursor");
+							String cursor = page < PAGES - 1 ? "\"" + (page + 1) + "\"" : "null";
+							return response.header("Content-Type", "application/json")
+									.sendString(Mono.just("{\"items\":" + items(page) + ",\"nextCursor\":" + cursor + "}"));
+						})
+						.get("/other-host", (_, response) -> response
+								.header("Link", "<http://127.0.0.1:" + server.port() + "/links?page=1>; rel=\"next\"")
+								.header("Content-Type", "application/json")
+								.sendString(Mono.just(items(0))))
+						.get("/wrapped", (_, response) -> response
+								.header("Content-Type", "application/json")
+								.sendString(Mono.just("{\"data\":" + items(0) + "}"))))
+				.bindNow();
+		String baseUrl = "http://localhost:" + server.port();
+		webClient = new WebClientFactory(WebClient.builder()).newWebClient(baseUrl, false);
+		restClient = new RestClientFactory(RestClient.builder()).newRestClient(baseUrl, false);
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.disposeNow();
+	}
+
+
+	private static int pageParam(String uri, String name) {
+		int index = uri.indexOf(name + "=");
+		return index < 0 ? 0 : Integer.parseInt(uri.substring(index + name.length() + 1));
+	}
+
+
+	private static String items(int page) {
+		return IntStream.range(page * PAGE_SIZE, (page + 1) * PAGE_SIZE)
+				.mapToObj(String::valueOf)
+				.collect(Collectors.joining(",", "[", "]"));
+	}
+
+
+	@Test
+	void testFluxFollowingLinks() {
+		assertThat(Pages.flux(webClient, URI.create("/links"), Integer.class, Paging.linkHeader()).collectList().block())
+		.isEqualTo(ALL);
+		assertThat(requests.get()).isEqualTo(PAGES);
+	}
+
+
+	@Test
+	void testFluxFollowingCursor() {
+		assertThat(Pages.flux(webClient, URI.create("/cursor"), Integer.class, CURSOR).collectList().block())
+		.isEqualTo(ALL);
+	}
+
+
+	@Test
+	void testFluxPrefetchIsBounded() throws InterruptedException {
+		BaseSubscriber<Integer> slowConsumer = new BaseSubscriber<>() {
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+				request(1);
+			}
+		};
+		Pages.flux(webClient, URI.create("/links"), Integer.class, Paging.linkHeader()).subscribe(slowConsumer);
+		Thread.sleep(Duration.ofMillis(300));
+		slowConsumer.dispose();
+
+		assertThat(requests.get()).isEqualTo(2);
+	}
+
+
+	@Test
+	void testFluxError() {
+		assertThrows(NotFoundException.class, () -> Pages.flux(webClient, URI.create("/missing"), Integer.class, Paging.linkHeader()).blockLast());
+	}
+
+
+	@Test
+	void testFluxRequiresPrefetch() {
+		Paging noPrefetch = Paging.builder().prefetchPages(0).build();
+		assertThrows(IllegalArgumentException.class, () -> Pages.flux(webClient, URI.create("/links"), Integer.class, noPrefetch));
+	}
+
+
+	@Test
+	void testStream() {
+		try (Stream<Integer> elements = Pages.stream(restClient, URI.create("/links"), Integer.class, Paging.linkHeader())) {
+			assertThat(elements.toList()).isEqualTo(ALL);
+		}
+		try (Stream<Integer> elements = Pages.stream(restClient, URI.create("/cursor"), Integer.class, CURSOR)) {
+			assertThat(elements.toList()).isEqualTo(ALL);
+		}
+	}
+
+
+	@Test
+	void testStreamIsLazy() throws InterruptedException {
+		try (Stream<Integer> elements = Pages.stream(restClient, URI.create("/links"), Integer.class, Paging.linkHeader())) {
+			assertThat(requests.get()).isZero();
+			assertThat(elements.findFirst()).contains(0);
+			Thread.sleep(Duration.ofMillis(300));
+			assertThat(requests.get()).isEqualTo(2);
+		}
+	}
+
+
+	@Test
+	void testStreamError() {
+		try (Stream<Integer> elements = Pages.stream(restClient, URI.create("/missing"), Integer.class, Paging.linkHeader())) {
+			assertThrows(NotFoundException.class, elements::toList);
+		}
+	}
+
+
+	@Test
+	void testCrossHostLinkIsRefused() {
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> Pages.flux(webClient, URI.create("/other-host"), Integer.class, Paging.linkHeader()).blockLast());
+		assertThat(e.getMessage()).contains("127.0.0.1");
+		try (Stream<Integer> elements = Pages.stream(restClient, URI.create("/other-host"), Integer.class, Paging.linkHeader())) {
+			assertThrows(IllegalStateException.class, elements::toList);
+		}
+		assertThat(requests.get()).isZero();
+	}
+
+
+	@Test
+	void testCrossHostLinkIsAllowed() {
+		Paging paging = Paging.linkHeader().toBuilder().allowCrossHostLinks(true).build();
+
+		assertThat(Pages.flux(webClient, URI.create("/other-host"), Integer.class, paging).collectList().block()).isEqualTo(ALL);
+	}
+
+
+	@Test
+	void testMissingItemsField() {
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> Pages.flux(webClient, URI.create("/wrapped"), Integer.class, CURSOR).blockLast());
+		assertThat(e.getMessage()).contains("items");
+		try (Stream<Integer> elements = Pages.stream(restClient, URI.create("/wrapped"), Integer.class, CURSOR)) {
+			assertThrows(IllegalStateException.class, elements::toList);
+		}
+	}
+
+
+	@Test
+	void testFindNextLink() {
+		assertThat(Pages.findNextLink("<https://x/a?page=1>; rel=\"prev\", <https://x/a?page=3>; rel=\"next last\"")).isEqualTo("https://x/a?page=3");
+		assertThat(Pages.findNextLink("</items?page=2>;rel=next")).isEqualTo("/items?page=2");
+		assertThat(Pages.findNextLink("</items?page=2>; rel=\"nextpage\"")).isNull();
+		assertThat(Pages.findNextLink("</items?page=1>; rel=prev")).isNull();
+	}
+
+
+}
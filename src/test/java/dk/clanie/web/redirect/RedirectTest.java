@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.redirect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.support.BasicAuthenticationInterceptor;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunctions;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.ClientOptions;
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.exception.FoundException;
+import dk.clanie.web.redirect.PermanentRedirectCache.Resolution;
+import dk.clanie.web.test.StubResponse;
+import dk.clanie.web.test.StubServer;
+import dk.clanie.web.timing.OutboundTimings;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Unit tests for {@link RedirectHooks}, {@link RedirectPolicy} and {@link PermanentRedirectCache}.
+ */
+public class RedirectTest {
+
+	private static final ClientOptions FOLLOW = ClientOptions.builder().redirectPolicy(RedirectPolicy.defaults()).build();
+
+	private StubServer server;
+
+
+	@BeforeEach
+	void setUp() {
+		server = StubServer.start();
+		server.stub("/moved", redirect(301, "/status/200"));
+		server.stub("/temporary", redirect(302, "/status/200"));
+		server.stub("/see-other", redirect(303, "/status/200"));
+		server.stub("/loop", redirect(302, "/loop"));
+		server.stub("/away", redirect(302, "http://example.com/away"));
+		server.stub("/chain/1", redirect(301, "/chain/2"));
+		server.stub("/chain/2", redirect(301, "/chain/3"));
+		server.stub("/chain/3", redirect(302, "/chain/4"));
+		server.stub("/chain/4", redirect(302, "/chain/5"));
+		server.stub("/chain/5", redirect(302, "/status/200"));
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.close();
+	}
+
+
+	private static StubResponse redirect(int status, String location) {
+		return StubResponse.builder().status(status, 1).header("Location", location).body("").build();
+	}
+
+
+	@Test
+	void testWebClientFollowsRedirects() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), FOLLOW);
+
+		assertThat(client.get().uri("/temporary").retrieve().bodyToMono(String.class).block()).isEqualTo("hello");
+		assertThat(client.post().uri("/see-other").bodyValue("ignored").retrieve().bodyToMono(String.class).block()).isEqualTo("hello");
+	}
+
+
+	@Test
+	void testWebClientRemembersPermanentRedirects() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), FOLLOW);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(client.get().uri("/moved").retrieve().bodyToMono(String.class).block()).isEqualTo("hello");
+		}
+		assertThat(server.getRequestCount("/moved")).isEqualTo(1);
+		assertThat(server.getRequestCount("/status/200")).isEqualTo(3);
+	}
+
+
+	@Test
+	void testWebClientHopLimitAndCrossHost() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(),
+				ClientOptions.builder().redirectPolicy(RedirectPolicy.builder().maxRedirects(3).build()).build());
+
+		assertThrows(FoundException.class, () -> client.get().uri("/loop").retrieve().toBodilessEntity().block());
+		assertThat(server.getRequestCount("/loop")).isEqualTo(4);
+
+		FoundException e = assertThrows(FoundException.class, () -> client.get().uri("/away").retrieve().toBodilessEntity().block());
+		assertThat(e.getLocation()).isEqualTo("http://example.com/away");
+	}
+
+
+	@Test
+	void testWebClientCountsRememberedRedirects() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(),
+				ClientOptions.builder().redirectPolicy(RedirectPolicy.builder().maxRedirects(3).build()).build());
+
+		// Remembers 1 -> 2 -> 3, and stops at 4
+		assertThrows(FoundException.class, () -> client.get().uri("/chain/1").retrieve().toBodilessEntity().block());
+		// Goes straight to 3, and has one hop left
+		FoundException e = assertThrows(FoundException.class, () -> client.get().uri("/chain/1").retrieve().toBodilessEntity().block());
+
+		assertThat(e.getLocation()).isEqualTo("/chain/5");
+		assertThat(server.getRequestCount("/chain/1")).isEqualTo(1);
+		assertThat(server.getRequestCount("/chain/5")).isZero();
+	}
+
+
+	@Test
+	void testWebClientDefaultDoesNotFollow() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), false);
+
+		FoundException e = assertThrows(FoundException.class, () -> client.get().uri("/temporary").retrieve().toBodilessEntity().block());
+		assertThat(e.getLocation()).isEqualTo("/status/200");
+	}
+
+
+	@Test
+	void testRestClientFollowsRedirects() {
+		RestClient client = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(), FOLLOW);
+
+		assertThat(client.get().uri("/temporary").retrieve().body(String.class)).isEqualTo("hello");
+		assertThat(client.post().uri("/see-other").body("ignored").retrieve().body(String.class)).isEqualTo("hello");
+		for (int i = 0; i < 3; i++) {
+			assertThat(client.get().uri("/moved").retrieve().body(String.class)).isEqualTo("hello");
+		}
+		assertThat(server.getRequestCount("/moved")).isEqualTo(1);
+	}
+
+
+	@Test
+	void testRestClientHopLimitAndCrossHost() {
+		RestClient client = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(),
+				ClientOptions.builder().redirectPolicy(RedirectPolicy.builder().maxRedirects(3).build()).build());
+
+		assertThrows(FoundException.class, () -> client.get().uri("/loop").retrieve().toBodilessEntity());
+		assertThat(server.getRequestCount("/loop")).isEqualTo(4);
+		assertThrows(FoundException.class, () -> client.get().uri("/away").retrieve().toBodilessEntity());
+	}
+
+
+	@Test
+	void testRestClientCountsRememberedRedirects() {
+		RestClient client = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(),
+				ClientOptions.builder().redirectPolicy(RedirectPolicy.builder().maxRedirects(3).build()).build());
+
+		assertThrows(FoundException.class, () -> client.get().uri("/chain/1").retrieve().toBodilessEntity());
+		FoundException e = assertThrows(FoundException.class, () -> client.get().uri("/chain/1").retrieve().toBodilessEntity());
+
+		assertThat(e.getLocation()).isEqualTo("/chain/5");
+		assertThat(server.getRequestCount("/chain/1")).isEqualTo(1);
+		assertThat(server.getRequestCount("/chain/5")).isZero();
+	}
+
+
+	@Test
+	void testCredentialsFromCustomizationNotSentToOtherHost() {
+		AtomicReference<String> authorization = new AtomicReference<>();
+		DisposableServer other = HttpServer.create()
+				.port(0)
+				.handle((request, response) -> {
+					authorization.set(request.requestHeaders().get(HttpHeaders.AUTHORIZATION, "none"));
+					return response.sendString(Mono.just("hello"));
+				})
+				.bindNow();
+		try {
+			// Another host, as the stub server is on localhost
+			server.stub("/other-host", redirect(302, "http://127.0.0.1:" + other.port() + "/"));
+			ClientOptions options = ClientOptions.builder().redirectPolicy(RedirectPolicy.builder().allowedHost("127.0.0.1").build()).build();
+			WebClient webClient = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), options,
+					builder -> builder.filter(ExchangeFilterFunctions.basicAuthentication("user", "secret")));
+			RestClient restClient = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(), options,
+					builder -> builder.requestInterceptor(new BasicAuthenticationInterceptor("user", "secret")));
+
+			assertThat(webClient.get().uri("/other-host").retrieve().bodyToMono(String.class).block()).isEqualTo("hello");
+			assertThat(authorization.get()).isEqualTo("none");
+			authorization.set(null);
+			assertThat(restClient.get().uri("/other-host").retrieve().body(String.class)).isEqualTo("hello");
+			assertThat(authorization.get()).isEqualTo("none");
+		} finally {
+			other.disposeNow();
+		}
+	}
+
+
+	@Test
+	void testEachHopIsTimed() {
+		ClientOptions options = FOLLOW.toBuilder().name("stub").serverTiming(true).build();
+		WebClient webClient = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), options);
+		RestClient restClient = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(), options);
+		OutboundTimings webTimings = new OutboundTimings();
+		OutboundTimings restTimings = new OutboundTimings();
+
+		webClient.get().uri("/temporary").retrieve().bodyToMono(String.class)
+		.contextWrite(context -> context.put(OutboundTimings.CONTEXT_KEY, webTimings))
+		.block();
+		OutboundTimings.bind(restTimings);
+		try {
+			restClient.get().uri("/temporary").retrieve().body(String.class);
+		} finally {
+			OutboundTimings.unbind();
+		}
+
+		assertThat(webTimings.getCalls("stub")).isEqualTo(2);
+		assertThat(restTimings.getCalls("stub")).isEqualTo(2);
+	}
+
+
+	@Test
+	void testPolicy() {
+		URI from = URI.create("https://api.example.com/a");
+		assertThat(RedirectPolicy.defaults().allows(from, URI.create("https://api.example.com/b"))).isTrue();
+		assertThat(RedirectPolicy.defaults().allows(from, URI.create("http://api.example.com/b"))).isFalse();
+		assertThat(RedirectPolicy.defaults().allows(from, URI.create("https://cdn.example.com/b"))).isFalse();
+		assertThat(RedirectPolicy.builder().allowedHost("cdn.example.com").build().allows(from, URI.create("https://CDN.example.com/b"))).isTrue();
+		assertThat(RedirectPolicy.builder().allowCrossHost(true).build().allows(from, URI.create("https://other.org/b"))).isTrue();
+		assertThat(RedirectPolicy.builder().allowCrossHost(true).build().allows(from, URI.create("ftp://other.org/b"))).isFalse();
+	}
+
+
+	@Test
+	void testCache() {
+		PermanentRedirectCache cache = new PermanentRedirectCache(2);
+		URI a = URI.create("http://x/a");
+		URI b = URI.create("http://x/b");
+		URI c = URI.create("http://x/c");
+		URI d = URI.create("http://x/d");
+
+		cache.put(HttpMethod.GET, a, b, HttpStatus.MOVED_PERMANENTLY);
+		cache.put(HttpMethod.GET, b, c, HttpStatus.PERMANENT_REDIRECT);
+		cache.put(HttpMethod.POST, c, d, HttpStatus.MOVED_PERMANENTLY);
+		cache.put(HttpMethod.GET, c, d, HttpStatus.FOUND);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.resolve(HttpMethod.GET, a, 5)).isEqualTo(new Resolution(c, 2));
+		assertThat(cache.resolve(HttpMethod.GET, a, 1)).isEqualTo(new Resolution(b, 1));
+		assertThat(cache.resolve(HttpMethod.POST, a, 5)).isEqualTo(new Resolution(a, 0));
+		assertThat(cache.resolve(HttpMethod.POST, b, 5)).isEqualTo(new Resolution(c, 1));
+
+		cache.resolve(HttpMethod.GET, b, 1);
+		cache.put(HttpMethod.GET, d, a, HttpStatus.PERMANENT_REDIRECT);
+		assertThat(cache.resolve(HttpMethod.GET, a, 1)).isEqualTo(new Resolution(a, 0));
+		assertThat(cache.resolve(HttpMethod.GET, b, 1)).isEqualTo(new Resolution(c, 1));
+	}
+
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.test;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of the latency added by a {@link StubServer} before responding.
+ */
+@FunctionalInterface
+public interface Latency {
+
+	Latency NONE = () -> Duration.ZERO;
+
+
+	/**
+	 * Gets the latency for the next response.
+	 */
+	Duration next();
+
+
+	/**
+	 * Always the same latency.
+	 */
+	static Latency fixed(Duration latency) {
+		return () -> latency;
+	}
+
+
+	/**
+	 * Latency uniformly distributed between min and max.
+	 */
+	static Latency uniform(Duration min, Duration max) {
+		long minNanos = min.toNanos();
+		long maxNanos = max.toNanos();
+		return () -> Duration.ofNanos(ThreadLocalRandom.current().nextLong(minNanos, maxNanos + 1));
+	}
+
+
+	/**
+	 * Latency with given median and a long tail, so that about one response
+	 * in a hundred takes longer than p99 (log-normal distribution).
+	 */
+	static Latency longTail(Duration median, Duration p99) {
+		double mu = Math.log(median.toNanos());
+		double sigma = (Math.log(p99.toNanos()) - mu) / 2.326;
+		return () -> Duration.ofNanos((long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+	}
+
+
+}
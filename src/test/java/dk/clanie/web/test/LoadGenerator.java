@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Generates load by repeatedly making a call, and reports throughput and
+ * latency percentiles.
+ *
+ * Calls are given as a {@code Supplier<Mono<?>>}, e.g.
+ * {@code () -> webClient.get().uri("/orders").retrieve().toBodilessEntity()}.
+ * Blocking calls, like those made with a RestClient, can be adapted with
+ * {@link #blocking(Callable)}.
+ */
+public final class LoadGenerator {
+
+	private LoadGenerator() {
+	}
+
+
+	/**
+	 * Runs given number of concurrent workers, each making the next call as soon
+	 * as the previous has completed, for given duration.
+	 *
+	 * Throughput is limited by latency, as with a fixed pool of client threads.
+	 */
+	public static LoadReport closedLoop(int concurrency, Duration duration, Supplier<Mono<?>> call) {
+		Recorder recorder = new Recorder();
+		long deadline = System.nanoTime() + duration.toNanos();
+		long start = System.nanoTime();
+		Flux.range(0, concurrency)
+		.flatMap(_ -> recorder.timed(call).repeat(() -> System.nanoTime() < deadline), concurrency)
+		.blockLast();
+		return recorder.report(Duration.ofNanos(System.nanoTime() - start));
+	}
+
+
+	/**
+	 * Starts calls at a fixed rate for given duration, regardless of how many
+	 * calls are still in progress, and waits for all of them to complete.
+	 *
+	 * Models independent clients; latency is measured from when each call was
+	 * due to start, so queueing in the client is included.
+	 */
+	public static LoadReport openLoop(int callsPerSecond, Duration duration, Supplier<Mono<?>> call) {
+		Recorder recorder = new Recorder();
+		long calls = duration.toNanos() * callsPerSecond / 1_000_000_000L;
+		long start = System.nanoTime();
+		Flux.interval(Duration.ofNanos(1_000_000_000L / callsPerSecond))
+		.take(calls)
+		.flatMap(_ -> recorder.timed(call), Integer.MAX_VALUE)
+		.blockLast();
+		return recorder.report(Duration.ofNanos(System.nanoTime() - start));
+	}
+
+
+	/**
+	 * Adapts a blocking call to be run on the bounded elastic scheduler.
+	 */
+	public static Supplier<Mono<?>> blocking(Callable<?> call) {
+		return () -> Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+	}
+
+
+	private static final class Recorder {
+
+		private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+		private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+
+		/**
+		 * Gets a Mono making the call and recording its latency and outcome
+		 * each time it is subscribed. Errors are recorded and swallowed.
+		 */
+		Mono<Object> timed(Supplier<Mono<?>> call) {
+			return Mono.defer(() -> {
+				long start = System.nanoTime();
+				return Mono.<Object>defer(call::get)
+						.onErrorResume(e -> {
+							errors.computeIfAbsent(e.getClass().getSimpleName(), _ -> new LongAdder()).increment();
+							return Mono.empty();
+						})
+						.doFinally(_ -> latencies.add(System.nanoTime() - start));
+			});
+		}
+
+
+		LoadReport report(Duration elapsed) {
+			Map<String, Long> errorCounts = new ConcurrentHashMap<>();
+			errors.forEach((name, count) -> errorCounts.put(name, count.sum()));
+			return LoadReport.of(latencies.stream().mapToLong(Long::longValue).toArray(), errorCounts, elapsed);
+		}
+
+
+	}
+
+
+}
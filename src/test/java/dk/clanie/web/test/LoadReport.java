@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lombok.Value;
+
+/**
+ * Result of a run with the {@link LoadGenerator}.
+ *
+ * Latencies include failed calls.
+ */
+@Value
+public class LoadReport {
+
+	long calls;
+	long failures;
+
+	/**
+	 * Number of failed calls by simple name of the exception.
+	 */
+	Map<String, Long> errors;
+
+	Duration elapsed;
+	double throughput;
+	Duration p50;
+	Duration p90;
+	Duration p99;
+	Duration max;
+
+
+	static LoadReport of(long[] latencyNanos, Map<String, Long> errors, Duration elapsed) {
+		long[] sorted = latencyNanos.clone();
+		Arrays.sort(sorted);
+		long failures = errors.values().stream().mapToLong(Long::longValue).sum();
+		double throughput = elapsed.isZero() ? 0 : sorted.length * 1_000_000_000.0 / elapsed.toNanos();
+		return new LoadReport(sorted.length, failures, new TreeMap<>(errors), elapsed, throughput,
+				percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 100));
+	}
+
+
+	private static Duration percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0) return Duration.ZERO;
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return Duration.ofNanos(sorted[Math.max(0, index)]);
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("%d calls (%d failed %s) in %d ms: %.1f/s, p50=%.1f ms, p90=%.1f ms, p99=%.1f ms, max=%.1f ms",
+				calls, failures, errors, elapsed.toMillis(), throughput,
+				millis(p50), millis(p90), millis(p99), millis(max));
+	}
+
+
+	private static double millis(Duration duration) {
+		return duration.toNanos() / 1_000_000.0;
+	}
+
+
+}
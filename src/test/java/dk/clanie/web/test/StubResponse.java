@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.jspecify.annotations.Nullable;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * Script for the responses of a {@link StubServer} to requests for one path.
+ *
+ * Example - 90% fast successes and 10% slow 503's with a Retry-After:
+ * <pre>
+ * StubResponse.builder()
+ *     .status(200, 9)
+ *     .status(503, 1)
+ *     .latency(Latency.uniform(Duration.ofMillis(5), Duration.ofMillis(20)))
+ *     .retryAfter(Duration.ofSeconds(1))
+ *     .build();
+ * </pre>
+ */
+@Value
+@Builder
+public class StubResponse {
+
+	/**
+	 * Status codes with their relative weights. Defaults to 200 only.
+	 */
+	@Singular
+	Map<Integer, Integer> statuses;
+
+	/**
+	 * Latency before the status and headers are sent.
+	 */
+	@Builder.Default
+	Latency latency = Latency.NONE;
+
+	/**
+	 * Response headers.
+	 */
+	@Singular
+	Map<String, String> headers;
+
+	/**
+	 * Value of the Retry-After header sent with 429 and 503 responses.
+	 */
+	@Nullable Duration retryAfter;
+
+	/**
+	 * Response body.
+	 */
+	@Builder.Default
+	String body = "hello";
+
+	/**
+	 * Number of chunks the body is sent in, with {@link #chunkDelay} before each chunk.
+	 */
+	@Builder.Default
+	int chunks = 1;
+
+	/**
+	 * Delay before each chunk of the body - makes a slow body.
+	 */
+	@Builder.Default
+	Duration chunkDelay = Duration.ZERO;
+
+	/**
+	 * Send the status, headers and first chunk of the body, and then nothing more.
+	 */
+	boolean stallBody;
+
+	/**
+	 * Fraction (0 - 1) of the requests answered by resetting the connection.
+	 */
+	double resetRate;
+
+
+	/**
+	 * Picks the status code for the next response according to the weights.
+	 */
+	int nextStatus() {
+		if (statuses.isEmpty()) return 200;
+		int total = statuses.values().stream().mapToInt(Integer::intValue).sum();
+		int pick = ThreadLocalRandom.current().nextInt(total);
+		for (Map.Entry<Integer, Integer> entry : statuses.entrySet()) {
+			pick -= entry.getValue();
+			if (pick < 0) return entry.getKey();
+		}
+		throw new IllegalStateException("Unreachable");
+	}
+
+
+	boolean nextIsReset() {
+		return resetRate > 0 && ThreadLocalRandom.current().nextDouble() < resetRate;
+	}
+
+
+}
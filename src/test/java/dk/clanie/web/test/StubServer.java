@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+import org.reactivestreams.Publisher;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * Lightweight Reactor Netty HTTP server for tests, started on a random port.
+ *
+ * Requests for paths with a {@link StubResponse} script are answered according
+ * to the script. Other requests are answered by echoing the status code given
+ * on the path, which is expected to be /status/{code} - anything else gives
+ * a 404 (Not Found) response. The echoed 200 response has the body "hello",
+ * and 302 has Location http://example.com/redirect.
+ *
+ * Counts the requests per path, and keeps track of the
+ * highest number of requests in progress at the same time.
+ */
+public final class StubServer implements AutoCloseable {
+
+	public static final String REDIRECT_LOCATION = "http://example.com/redirect";
+
+	private static final String STATUS_PATH = "/status/";
+
+	private final Map<String, StubResponse> scripts = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	private final DisposableServer server;
+
+
+	private StubServer() {
+		server = HttpServer.create()
+				.port(0)
+				.handle(this::handle)
+				.bindNow();
+	}
+
+
+	/**
+	 * Starts a new StubServer.
+	 */
+	public static StubServer start() {
+		return new StubServer();
+	}
+
+
+	/**
+	 * Scripts the responses to requests for given path (without query).
+	 */
+	public StubServer stub(String path, StubResponse response) {
+		scripts.put(path, response);
+		return this;
+	}
+
+
+	public int getPort() {
+		return server.port();
+	}
+
+
+	public String getBaseUrl() {
+		return "http://localhost:" + server.port();
+	}
+
+
+	/**
+	 * Gets the number of requests received for given path (without query).
+	 */
+	public long getRequestCount(String path) {
+		LongAdder count = requestCounts.get(path);
+		return count == null ? 0 : count.sum();
+	}
+
+
+	/**
+	 * Gets the total number of requests received.
+	 */
+	public long getRequestCount() {
+		return requestCounts.values().stream().mapToLong(LongAdder::sum).sum();
+	}
+
+
+	/**
+	 * Gets the highest number of requests that were in progress at the same time.
+	 */
+	public int getMaxInFlight() {
+		return maxInFlight.get();
+	}
+
+
+	/**
+	 * Clears scripts and counters.
+	 */
+	public void reset() {
+		scripts.clear();
+		requestCounts.clear();
+		maxInFlight.set(inFlight.get());
+	}
+
+
+	@Override
+	public void close() {
+		server.disposeNow();
+	}
+
+
+	private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+		String path = pathOf(request.uri());
+		requestCounts.computeIfAbsent(path, _ -> new LongAdder()).increment();
+		maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		StubResponse script = scripts.get(path);
+		Mono<Void> result = script != null ? scripted(script, request, response) : echo(path, response);
+		return result.doFinally(_ -> inFlight.decrementAndGet());
+	}
+
+
+	private static String pathOf(String uri) {
+		int queryStart = uri.indexOf('?');
+		return queryStart < 0 ? uri : uri.substring(0, queryStart);
+	}
+
+
+	private static Mono<Void> scripted(StubResponse script, HttpServerRequest request, HttpServerResponse response) {
+		if (script.nextIsReset()) {
+			request.withConnection(connection -> {
+				// Linger 0 makes close send a TCP reset
+				connection.channel().config().setOption(ChannelOption.SO_LINGER, 0);
+				connection.channel().close();
+			});
+			return Mono.empty();
+		}
+		return Mono.delay(script.getLatency().next())
+				.then(Mono.defer(() -> {
+					int status = script.nextStatus();
+					response.status(status);
+					script.getHeaders().forEach(response::header);
+					@Nullable Duration retryAfter = script.getRetryAfter();
+					if (retryAfter != null && (status == 429 || status == 503)) {
+						response.header(HttpHeaderNames.RETRY_AFTER, Long.toString(retryAfter.toSeconds()));
+					}
+					return response.sendString(body(script)).then();
+				}));
+	}
+
+
+	private static Flux<String> body(StubResponse script) {
+		String body = script.getBody();
+		int chunks = Math.max(1, Math.min(script.getChunks(), body.length()));
+		int chunkSize = (body.length() + chunks - 1) / chunks;
+		Flux<String> parts = chunkSize == 0
+				? Flux.empty()
+				: Flux.range(0, chunks).map(i -> body.substring(Math.min(i * chunkSize, body.length()), Math.min((i + 1) * chunkSize, body.length())));
+		if (!script.getChunkDelay().isZero()) parts = parts.delayElements(script.getChunkDelay());
+		if (script.isStallBody()) parts = parts.take(1).concatWith(Flux.never());
+		return parts;
+	}
+
+
+	private static Mono<Void> echo(String path, HttpServerResponse response) {
+		if (path.startsWith(STATUS_PATH)) {
+			try {
+				int code = Integer.parseInt(path.substring(STATUS_PATH.length()));
+				response.status(code);
+				if (code == 200) {
+					return response.sendString(Mono.just("hello")).then();
+				}
+				if (code == 302) {
+					response.header(HttpHeaderNames.LOCATION, REDIRECT_LOCATION);
+				}
+				return response.send().then();
+			} catch (NumberFormatException e) {
+				// Fall through to 404 response
+			}
+		}
+		response.status(404);
+		return response.send().then();
+	}
+
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.exception.TooManyRequestsException;
+
+/**
+ * Unit tests for {@link StubServer} and {@link LoadGenerator}.
+ */
+public class StubServerTest {
+
+	private StubServer server;
+	private WebClient webClient;
+
+
+	@BeforeEach
+	void setUp() {
+		server = StubServer.start();
+		webClient = new WebClientFactory(WebClient.builder()).newWebClient(server.getBaseUrl(), false);
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.close();
+	}
+
+
+	@Test
+	void testScriptedResponse() {
+		server.stub("/slow", StubResponse.builder()
+				.latency(Latency.fixed(Duration.ofMillis(100)))
+				.header("X-Stub", "yes")
+				.body("0123456789")
+				.chunks(5)
+				.chunkDelay(Duration.ofMillis(10))
+				.build());
+
+		long start = System.nanoTime();
+		ResponseEntity<String> response = webClient.get().uri("/slow?x=1").retrieve().toEntity(String.class).block();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+		assertThat(response.getHeaders().getFirst("X-Stub")).isEqualTo("yes");
+		assertThat(response.getBody()).isEqualTo("0123456789");
+		assertThat(server.getRequestCount("/slow")).isEqualTo(1);
+	}
+
+
+	@Test
+	void testRetryAfter() {
+		server.stub("/busy", StubResponse.builder().status(429, 1).retryAfter(Duration.ofSeconds(3)).build());
+		assertThrows(TooManyRequestsException.class, () ->
+		webClient.get().uri("/busy").retrieve().bodyToMono(String.class).block());
+	}
+
+
+	@Test
+	void testStalledBody() {
+		server.stub("/stalled", StubResponse.builder().body("0123456789").chunks(2).stallBody(true).build());
+		assertThrows(IllegalStateException.class, () ->
+		webClient.get().uri("/stalled").retrieve().bodyToMono(String.class).block(Duration.ofMillis(200)));
+	}
+
+
+	@Test
+	void testConnectionReset() {
+		server.stub("/reset", StubResponse.builder().resetRate(1).build());
+		assertThrows(WebClientRequestException.class, () ->
+		webClient.get().uri("/reset").retrieve().bodyToMono(String.class).block());
+	}
+
+
+	@Test
+	void testClosedLoopWithStatusMix() {
+		server.stub("/mixed", StubResponse.builder()
+				.status(200, 3)
+				.status(503, 1)
+				.latency(Latency.uniform(Duration.ofMillis(1), Duration.ofMillis(5)))
+				.build());
+
+		LoadReport report = LoadGenerator.closedLoop(8, Duration.ofMillis(500),
+				() -> webClient.get().uri("/mixed").retrieve().toBodilessEntity());
+
+		assertThat(report.getCalls()).isEqualTo(server.getRequestCount("/mixed")).isGreaterThan(100);
+		assertThat(report.getErrors()).containsOnlyKeys("InternalServerErrorException");
+		assertThat(report.getFailures()).isBetween(report.getCalls() / 8, report.getCalls() / 2);
+		assertThat(report.getP50()).isGreaterThanOrEqualTo(Duration.ofMillis(1));
+		assertThat(report.getMax()).isGreaterThanOrEqualTo(report.getP99());
+		assertThat(server.getMaxInFlight()).isLessThanOrEqualTo(8);
+	}
+
+
+	@Test
+	void testOpenLoopWithRestClient() {
+		server.stub("/fixed", StubResponse.builder().latency(Latency.fixed(Duration.ofMillis(20))).build());
+		RestClient restClient = new RestClientFactory(RestClient.builder()).newRestClient(server.getBaseUrl(), false);
+
+		LoadReport report = LoadGenerator.openLoop(100, Duration.ofMillis(500),
+				LoadGenerator.blocking(() -> restClient.get().uri("/fixed").retrieve().body(String.class)));
+
+		assertThat(report.getCalls()).isEqualTo(50);
+		assertThat(report.getFailures()).isZero();
+		assertThat(report.getP50()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+	}
+
+
+}
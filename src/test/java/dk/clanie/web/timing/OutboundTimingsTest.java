@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.web.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import dk.clanie.web.ClientOptions;
+import dk.clanie.web.RestClientFactory;
+import dk.clanie.web.WebClientFactory;
+import dk.clanie.web.timing.OutboundTimings.Phase;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Unit tests for {@link OutboundTimings} and the hooks installed by the client factories.
+ *
+ * The test server responds to any request after 50 ms.
+ */
+public class OutboundTimingsTest {
+
+	private static final String CLIENT = "localhost";
+	private static final ClientOptions TIMED = ClientOptions.builder().serverTiming(true).build();
+
+	private DisposableServer server;
+	private String baseUrl;
+
+
+	@BeforeEach
+	void setUp() {
+		server = HttpServer.create()
+				.port(0)
+				.handle((_, response) -> response.sendString(Mono.just("hello").delayElement(Duration.ofMillis(50))))
+				.bindNow();
+		baseUrl = "http://localhost:" + server.port();
+	}
+
+
+	@AfterEach
+	void tearDown() {
+		if (server != null) server.disposeNow();
+	}
+
+
+	@Test
+	void testWebClientCallsAreRecorded() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(baseUrl, TIMED);
+		OutboundTimings timings = new OutboundTimings();
+
+		Mono<String> call = client.get().uri("/").retrieve().bodyToMono(String.class);
+		Mono.zip(call, call)
+		.contextWrite(context -> context.put(OutboundTimings.CONTEXT_KEY, timings))
+		.block();
+
+		assertThat(timings.getCalls(CLIENT)).isEqualTo(2);
+		assertThat(timings.getNanos(CLIENT, Phase.CONNECT)).isPositive();
+		assertThat(timings.getNanos(CLIENT, Phase.TTFB)).isGreaterThanOrEqualTo(Duration.ofMillis(2 * 50).toNanos());
+		assertThat(timings.getNanos(CLIENT, Phase.BODY)).isPositive();
+	}
+
+
+	@Test
+	void testWebClientCallsFromBoundThreadAreRecorded() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(baseUrl, TIMED);
+		OutboundTimings timings = new OutboundTimings();
+
+		// As from a Spring MVC controller, with the timings bound by ServerTimingFilter
+		OutboundTimings.bind(timings);
+		try {
+			assertThat(client.get().uri("/").retrieve().bodyToMono(String.class).block()).isEqualTo("hello");
+		} finally {
+			OutboundTimings.unbind();
+		}
+
+		assertThat(timings.getCalls(CLIENT)).isEqualTo(1);
+		assertThat(timings.getNanos(CLIENT, Phase.BODY)).isPositive();
+	}
+
+
+	@Test
+	void testWebClientWithoutTimings() {
+		WebClient client = new WebClientFactory(WebClient.builder()).newWebClient(baseUrl, TIMED);
+		assertThat(client.get().uri("/").retrieve().bodyToMono(String.class).block()).isEqualTo("hello");
+	}
+
+
+	@Test
+	void testRestClientCallsAreRecorded() {
+		RestClientFactory factory = new RestClientFactory(RestClient.builder());
+		factory.setServerTiming(true);
+		RestClient client = factory.newRestClient(baseUrl, false);
+		OutboundTimings timings = new OutboundTimings();
+
+		OutboundTimings.bind(timings);
+		try {
+			assertThat(client.get().uri("/").retrieve().body(String.class)).isEqualTo("hello");
+		} finally {
+			OutboundTimings.unbind();
+		}
+
+		assertThat(timings.getCalls(CLIENT)).isEqualTo(1);
+		assertThat(timings.getNanos(CLIENT, Phase.TTFB)).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+	}
+
+
+	@Test
+	void testNotRecordedUnlessEnabled() {
+		WebClient webClient = new WebClientFactory(WebClient.builder()).newWebClient(baseUrl, false);
+		RestClient restClient = new RestClientFactory(RestClient.builder()).newRestClient(baseUrl, false);
+		OutboundTimings timings = new OutboundTimings();
+
+		webClient.get().uri("/").retrieve().bodyToMono(String.class)
+		.contextWrite(context -> context.put(OutboundTimings.CONTEXT_KEY, timings))
+		.block();
+		OutboundTimings.bind(timings);
+		try {
+			restClient.get().uri("/").retrieve().body(String.class);
+		} finally {
+			OutboundTimings.unbind();
+		}
+
+		assertThat(timings.getCalls(CLIENT)).isZero();
+	}
+
+
+	@Test
+	void testServerTimingHeader() {
+		OutboundTimings timings = new OutboundTimings();
+		assertThat(timings.toServerTimingHeader()).isNull();
+
+		timings.callStarted("orders");
+		timings.callStarted("orders");
+		timings.record("orders", Phase.CONNECT, 1_200_000);
+		timings.record("orders", Phase.TTFB, 35_000_000);
+		timings.record("orders", Phase.BODY, 400_000);
+
+		assertThat(timings.toServerTimingHeader())
+		.isEqualTo("orders-connect;dur=1.2, orders-ttfb;dur=35.0;desc=\"2 calls\", orders-body;dur=0.4");
+	}
+
+
+	@Test
+	void testClientName() {
+		assertThat(OutboundTimingHooks.clientName("https://api.example.com:8443/v1")).isEqualTo("api_example_com");
+		assertThat(OutboundTimingHooks.clientName("/relative")).isEqualTo("client");
+		assertThat(ClientOptions.builder().name("orders api").build().nameFor(baseUrl)).isEqualTo("orders_api");
+		assertThat(ClientOptions.builder().name("a,b;dur=1").build().nameFor(baseUrl)).isEqualTo("a_b_dur_1");
+	}
+
+
+}